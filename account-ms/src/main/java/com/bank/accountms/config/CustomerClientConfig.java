@@ -0,0 +1,99 @@
+package com.bank.accountms.config;
+
+import com.bank.accountms.service.CustomerClient;
+import com.bank.accountms.service.impl.CachingCustomerClient;
+import com.bank.accountms.service.impl.CustomerClientWebClient;
+import com.bank.accountms.service.impl.HedgingCustomerClient;
+import com.bank.accountms.service.impl.ResilientCustomerClient;
+import com.bank.accountms.service.impl.SingleFlightCustomerClient;
+import com.bank.accountms.service.impl.TimedCustomerClient;
+import com.bank.accountms.service.util.Resilience;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cadena de decoradores de CustomerClient. El bean {@code @Primary} es el que recibe AccountServiceImpl:
+ * caché -> single-flight -> [hedging] -> circuit breaker/bulkhead -> timer -> HTTP. Con hedging cada
+ * intento pasa por el breaker y el bulkhead: cuentan las peticiones HTTP reales, no la llamada lógica.
+ */
+@Configuration
+public class CustomerClientConfig {
+
+    @Bean
+    public Resilience customerResilience(
+            @Value("${customerms.breaker.window-size:50}") int windowSize,
+            @Value("${customerms.breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${customerms.breaker.failure-rate-percent:50}") float failureRate,
+            @Value("${customerms.breaker.slow-call-rate-percent:80}") float slowCallRate,
+            @Value("${customerms.breaker.slow-call-ms:1000}") long slowCallMs,
+            @Value("${customerms.breaker.open-state-ms:10000}") long openStateMs,
+            @Value("${customerms.breaker.half-open-calls:5}") int halfOpenCalls,
+            @Value("${customerms.bulkhead.max-concurrent:64}") int maxConcurrent,
+            MeterRegistry meterRegistry) {
+        var resilience = new Resilience("Customer service", new Resilience.Settings(windowSize, minimumCalls, failureRate,
+                slowCallRate, slowCallMs, openStateMs, halfOpenCalls, maxConcurrent));
+        resilience.bindTo(meterRegistry, "customer-ms");
+        return resilience;
+    }
+
+    @Bean
+    public ResilientCustomerClient resilientCustomerClient(CustomerClientWebClient http,
+                                                           Resilience customerResilience,
+                                                           MeterRegistry meterRegistry) {
+        return new ResilientCustomerClient(new TimedCustomerClient(http, meterRegistry), customerResilience);
+    }
+
+    /**
+     * Segundo intento a {@code customerms.hedge.base-url} si está configurada; si no, a la misma
+     * instancia. Ambos con el mismo breaker/bulkhead.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "customerms.hedge.enabled", havingValue = "true")
+    public HedgingCustomerClient hedgingCustomerClient(
+            ResilientCustomerClient resilient,
+            @Qualifier("customerWebClient") WebClient customerWebClient,
+            Resilience customerResilience,
+            MeterRegistry meterRegistry,
+            @Value("${customerms.hedge.base-url:}") String hedgeBaseUrl,
+            @Value("${customerms.hedge.percentile:95}") double percentile,
+            @Value("${customerms.hedge.min-delay-ms:20}") long minDelayMs,
+            @Value("${customerms.hedge.initial-delay-ms:100}") long initialDelayMs,
+            @Value("${customerms.hedge.budget-percent:10}") int budgetPercent,
+            @Value("${customerms.hedge.max-burst:10}") int maxBurst) {
+        CustomerClient secondary = hedgeBaseUrl.isBlank()
+                ? resilient
+                : new ResilientCustomerClient(new TimedCustomerClient(
+                        new CustomerClientWebClient(customerWebClient.mutate().baseUrl(hedgeBaseUrl).build()), meterRegistry),
+                        customerResilience);
+        return new HedgingCustomerClient(resilient, secondary, percentile, minDelayMs, initialDelayMs, budgetPercent, maxBurst);
+    }
+
+    @Bean
+    public SingleFlightCustomerClient singleFlightCustomerClient(ResilientCustomerClient resilient,
+                                                                 ObjectProvider<HedgingCustomerClient> hedging) {
+        CustomerClient hedged = hedging.getIfAvailable();
+        return new SingleFlightCustomerClient(hedged != null ? hedged : resilient);
+    }
+
+    @Bean
+    @Primary
+    public CachingCustomerClient cachingCustomerClient(SingleFlightCustomerClient singleFlight,
+                                                       @Value("${customer-cache.positive-ttl-seconds:300}") long positiveTtl,
+                                                       @Value("${customer-cache.negative-ttl-seconds:30}") long negativeTtl,
+                                                       @Value("${customer-cache.max-entries:10000}") int maxEntries,
+                                                       MeterRegistry meterRegistry) {
+        var cache = new CachingCustomerClient(singleFlight,
+                TimeUnit.SECONDS.toMillis(positiveTtl), TimeUnit.SECONDS.toMillis(negativeTtl), maxEntries);
+        cache.bindTo(meterRegistry);
+        return cache;
+    }
+}
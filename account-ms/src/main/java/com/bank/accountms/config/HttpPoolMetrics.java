@@ -0,0 +1,40 @@
+package com.bank.accountms.config;
+
+import reactor.netty.resources.ConnectionPoolMetrics;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.SocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Recibe de Reactor Netty las métricas de cada pool (una por host remoto) y las expone
+ * como snapshot: conexiones activas, ociosas, adquisiciones pendientes.
+ */
+public class HttpPoolMetrics implements ConnectionProvider.MeterRegistrar {
+
+    public record Snapshot(String pool, String remote, int active, int idle, int pending,
+                           int allocated, int maxAllocated) {}
+
+    private record Key(String pool, String id, String remote) {}
+
+    private final Map<Key, ConnectionPoolMetrics> pools = new ConcurrentHashMap<>();
+
+    @Override
+    public void registerMetrics(String poolName, String id, SocketAddress remoteAddress, ConnectionPoolMetrics metrics) {
+        pools.put(new Key(poolName, id, String.valueOf(remoteAddress)), metrics);
+    }
+
+    public void deRegisterMetrics(String poolName, String id, SocketAddress remoteAddress) {
+        pools.remove(new Key(poolName, id, String.valueOf(remoteAddress)));
+    }
+
+    public List<Snapshot> snapshot() {
+        return pools.entrySet().stream()
+                .map(e -> new Snapshot(e.getKey().pool(), e.getKey().remote(),
+                        e.getValue().acquiredSize(), e.getValue().idleSize(), e.getValue().pendingAcquireSize(),
+                        e.getValue().allocatedSize(), e.getValue().maxAllocatedSize()))
+                .toList();
+    }
+}
@@ -1,13 +1,64 @@
 package com.bank.accountms.config;
 
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
+import java.time.Duration;
+
+/**
+ * Cliente HTTP hacia customer-ms: se construye una sola vez sobre un pool de conexiones
+ * acotado (máximo de conexiones, cola de adquisición, expulsión de ociosas) con timeouts
+ * de conexión y de respuesta, y HTTP/2 cleartext opcional.
+ */
 @Configuration
 public class WebClientConfig {
+
+    @Bean
+    public HttpPoolMetrics customerHttpPoolMetrics() {
+        return new HttpPoolMetrics();
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider customerConnectionProvider(
+            HttpPoolMetrics metrics,
+            @Value("${customerms.http.max-connections:50}") int maxConnections,
+            @Value("${customerms.http.pending-acquire-max:200}") int pendingAcquireMax,
+            @Value("${customerms.http.pending-acquire-timeout-ms:2000}") long pendingAcquireTimeoutMs,
+            @Value("${customerms.http.max-idle-time-ms:30000}") long maxIdleTimeMs,
+            @Value("${customerms.http.evict-interval-ms:10000}") long evictIntervalMs) {
+        return ConnectionProvider.builder("customer-ms")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(pendingAcquireMax)
+                .pendingAcquireTimeout(Duration.ofMillis(pendingAcquireTimeoutMs))
+                .maxIdleTime(Duration.ofMillis(maxIdleTimeMs))
+                .evictInBackground(Duration.ofMillis(evictIntervalMs))
+                .metrics(true, () -> metrics)
+                .build();
+    }
+
     @Bean
-    public WebClient.Builder webClientBuilder() {
-        return WebClient.builder();
+    public WebClient customerWebClient(
+            WebClient.Builder builder,
+            ConnectionProvider customerConnectionProvider,
+            @Value("${customerms.base-url:http://localhost:8081}") String baseUrl,
+            @Value("${customerms.http.connect-timeout-ms:1000}") int connectTimeoutMs,
+            @Value("${customerms.http.response-timeout-ms:2500}") long responseTimeoutMs,
+            @Value("${customerms.http.h2c:false}") boolean h2c) {
+        HttpClient http = HttpClient.create(customerConnectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, connectTimeoutMs)
+                .responseTimeout(Duration.ofMillis(responseTimeoutMs));
+        if (h2c) http = http.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+
+        return builder.clone()
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(http))
+                .build();
     }
 }
@@ -3,7 +3,14 @@ package com.bank.accountms.controller;
 import com.bank.accountms.service.AccountService;
 import com.bank.accountms.service.dto.AccountRequest;
 import com.bank.accountms.service.dto.AccountResponse;
+import com.bank.accountms.service.dto.ActiveAccountsBatchRequest;
+import com.bank.accountms.service.dto.BatchOperationResult;
+import com.bank.accountms.service.dto.BatchTransactionRequest;
 import com.bank.accountms.service.dto.TransactionRequest;
+import com.bank.accountms.service.dto.TransferRequest;
+import com.bank.accountms.service.dto.TransferResponse;
+import com.bank.accountms.service.exception.BusinessRejections;
+import com.bank.accountms.service.idempotency.IdempotencyCache;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.servlet.http.HttpServletResponse;
@@ -12,7 +19,9 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/accounts")
@@ -20,12 +29,39 @@ import java.util.List;
 @Tag(name = "Accounts", description = "Endpoints to manage bank accounts")
 public class AccountController {
 
+    /**
+     * Header opcional: reintentos con la misma clave (y el mismo cuerpo) devuelven la primera respuesta
+     * sin re-aplicar el movimiento; la misma clave con otro cuerpo se rechaza con 409.
+     */
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+    static final String NDJSON = "application/x-ndjson";
+
     private final AccountService service;
+    private final IdempotencyCache idempotency;
+    private final BusinessRejections rejections;
 
-    @Operation(summary = "List accounts")
+    @Operation(summary = "List accounts",
+            description = "Keyset pagination by id. When more results exist, the " + NEXT_CURSOR
+                    + " header carries the cursor for the next page.")
     @GetMapping
-    public List<AccountResponse> findAll() {
-        return service.findAll();
+    public List<AccountResponse> findAll(@RequestParam(required = false) Long customerId,
+                                         @RequestParam(required = false) String status,
+                                         @RequestParam(required = false) String type,
+                                         @RequestParam(required = false) String cursor,
+                                         @RequestParam(defaultValue = "100") int limit,
+                                         HttpServletResponse http) {
+        var page = service.findPage(customerId, status, type, cursor, limit);
+        if (page.getNextCursor() != null) http.setHeader(NEXT_CURSOR, page.getNextCursor());
+        return page.getItems();
+    }
+
+    @Operation(summary = "Export accounts", description = "Streams every account as NDJSON (one JSON object per line).")
+    @GetMapping(value = "/export", produces = NDJSON)
+    public void export(HttpServletResponse http) throws IOException {
+        http.setContentType(NDJSON);
+        service.exportAll(http.getOutputStream());
     }
 
     @Operation(summary = "Create account", description = "Creates a new bank account for an existing customer.")
@@ -48,8 +84,10 @@ public class AccountController {
     @PostMapping("/{id}/deposit")
     public AccountResponse deposit(@PathVariable Long id,
                                    @Valid @RequestBody TransactionRequest request,
+                                   @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
                                    HttpServletResponse http) {
-        var resp = service.deposit(id, request);
+        var resp = idempotency.execute("deposit:id:" + id, idempotencyKey, request, AccountResponse.class,
+                () -> service.deposit(id, request));
         http.setHeader("X-Message", "Deposit completed");
         return resp;
     }
@@ -58,8 +96,10 @@ public class AccountController {
     @PostMapping("/{id}/withdraw")
     public AccountResponse withdraw(@PathVariable Long id,
                                     @Valid @RequestBody TransactionRequest request,
+                                    @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
                                     HttpServletResponse http) {
-        var resp = service.withdraw(id, request);
+        var resp = idempotency.execute("withdraw:id:" + id, idempotencyKey, request, AccountResponse.class,
+                () -> service.withdraw(id, request));
         http.setHeader("X-Message", "Withdrawal completed");
         return resp;
     }
@@ -75,8 +115,10 @@ public class AccountController {
     @PostMapping("/number/{accountNumber}/deposit")
     public AccountResponse depositByNumber(@PathVariable String accountNumber,
                                            @Valid @RequestBody TransactionRequest request,
+                                           @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
                                            HttpServletResponse http) {
-        var resp = service.depositByAccountNumber(accountNumber, request);
+        var resp = idempotency.execute("deposit:number:" + accountNumber, idempotencyKey, request, AccountResponse.class,
+                () -> service.depositByAccountNumber(accountNumber, request));
         http.setHeader("X-Message", "Deposit completed");
         return resp;
     }
@@ -85,12 +127,39 @@ public class AccountController {
     @PostMapping("/number/{accountNumber}/withdraw")
     public AccountResponse withdrawByNumber(@PathVariable String accountNumber,
                                             @Valid @RequestBody TransactionRequest request,
+                                            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
                                             HttpServletResponse http) {
-        var resp = service.withdrawByAccountNumber(accountNumber, request);
+        var resp = idempotency.execute("withdraw:number:" + accountNumber, idempotencyKey, request, AccountResponse.class,
+                () -> service.withdrawByAccountNumber(accountNumber, request));
         http.setHeader("X-Message", "Withdrawal completed");
         return resp;
     }
 
+    // -------- Transferencias --------
+    @Operation(summary = "Transfer between accounts",
+            description = "Debits the source and credits the target account in a single transaction.")
+    @PostMapping("/transfers")
+    public TransferResponse transfer(@Valid @RequestBody TransferRequest request,
+                                     @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey,
+                                     HttpServletResponse http) {
+        var resp = idempotency.execute("transfer", idempotencyKey, request, TransferResponse.class,
+                () -> service.transfer(request));
+        http.setHeader("X-Message", "Transfer completed");
+        return resp;
+    }
+
+    // -------- Lotes --------
+    @Operation(summary = "Apply transactions in batch",
+            description = "Applies many deposits/withdrawals in one transaction and returns a result per operation.")
+    @PostMapping("/transactions/batch")
+    public List<BatchOperationResult> batch(@Valid @RequestBody BatchTransactionRequest request) {
+        var results = service.applyBatch(request.getOperations());
+        results.stream()
+                .filter(r -> "REJECTED".equals(r.getStatus()))
+                .forEach(r -> rejections.record(r.getError())); // los rechazos por ítem no pasan por el handler
+        return results;
+    }
+
     // -------- Otros --------
     @Operation(summary = "Has active accounts", description = "Returns true if the customer has ACTIVE accounts.")
     @GetMapping("/active")
@@ -98,6 +167,13 @@ public class AccountController {
         return service.hasActiveAccounts(customerId);
     }
 
+    @Operation(summary = "Has active accounts (batch)",
+            description = "Returns customerId -> true/false for every requested customer, resolved with a single query.")
+    @PostMapping("/active/batch")
+    public Map<Long, Boolean> hasActiveBatch(@Valid @RequestBody ActiveAccountsBatchRequest request) {
+        return service.hasActiveAccounts(request.getCustomerIds());
+    }
+
     @Operation(summary = "Delete account")
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
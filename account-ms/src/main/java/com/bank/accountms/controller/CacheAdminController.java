@@ -0,0 +1,37 @@
+package com.bank.accountms.controller;
+
+import com.bank.accountms.service.impl.CachingCustomerClient;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/internal/cache")
+@RequiredArgsConstructor
+@Tag(name = "Cache admin", description = "Inspect and evict in-process caches")
+public class CacheAdminController {
+
+    private final CachingCustomerClient customerCache;
+
+    @Operation(summary = "Customer existence cache stats")
+    @GetMapping("/customers")
+    public CachingCustomerClient.Stats customerStats() {
+        return customerCache.stats();
+    }
+
+    @Operation(summary = "Evict one customer from the existence cache")
+    @DeleteMapping("/customers/{customerId}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void evictCustomer(@PathVariable Long customerId) {
+        customerCache.evict(customerId);
+    }
+
+    @Operation(summary = "Evict the whole customer existence cache")
+    @DeleteMapping("/customers")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void evictCustomers() {
+        customerCache.evictAll();
+    }
+}
@@ -0,0 +1,39 @@
+package com.bank.accountms.controller;
+
+import com.bank.accountms.config.HttpPoolMetrics;
+import com.bank.accountms.service.impl.HedgingCustomerClient;
+import com.bank.accountms.service.impl.ResilientCustomerClient;
+import com.bank.accountms.service.impl.SingleFlightCustomerClient;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/internal/clients")
+@RequiredArgsConstructor
+@Tag(name = "Client stats", description = "Runtime stats of inter-service clients")
+public class ClientStatsController {
+
+    private final SingleFlightCustomerClient customerSingleFlight;
+    private final HttpPoolMetrics customerHttpPoolMetrics;
+    private final ResilientCustomerClient customerResilient;
+    private final ObjectProvider<HedgingCustomerClient> customerHedging;
+
+    @Operation(summary = "CustomerClient stats")
+    @GetMapping("/customers")
+    public Map<String, Object> customerClient() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("singleFlight", customerSingleFlight.stats());
+        stats.put("pool", customerHttpPoolMetrics.snapshot());
+        stats.put("resilience", customerResilient.stats());
+        customerHedging.ifAvailable(h -> stats.put("hedging", h.stats()));
+        return stats;
+    }
+}
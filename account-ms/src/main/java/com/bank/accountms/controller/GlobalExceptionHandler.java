@@ -1,8 +1,10 @@
 package com.bank.accountms.controller;
 
 import com.bank.accountms.service.exception.BusinessException;
+import com.bank.accountms.service.exception.BusinessRejections;
 import com.bank.accountms.service.exception.NotFoundException;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.*;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -11,8 +13,11 @@ import org.springframework.web.bind.annotation.*;
 import java.util.Map;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
+    private final BusinessRejections rejections;
+
     @ExceptionHandler(NotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public Map<String, Object> notFound(NotFoundException ex) {
@@ -22,6 +27,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(BusinessException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public Map<String, Object> business(BusinessException ex) {
+        rejections.record(ex.getMessage());
         return Map.of("error", ex.getMessage());
     }
 
@@ -3,10 +3,11 @@ package com.bank.accountms.model;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.math.BigDecimal;
 @Entity
 @Table(name = "accounts", uniqueConstraints = {
         @UniqueConstraint(name = "uk_account_number", columnNames = "account_number")
+}, indexes = {
+        @Index(name = "idx_accounts_customer_status", columnList = "customer_id, status")
 })
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Account {
@@ -28,18 +29,18 @@ public class Account {
     @Column(nullable = false, length = 10)
     private Status status;
 
-    @Column(nullable = false, precision = 18, scale = 2)
-    private BigDecimal balance;
+    /** Saldo en centavos (ver Money); se pasa a decimal solo en AccountResponse. */
+    @Column(name = "balance_cents", nullable = false)
+    private long balanceCents;
 
     public enum Type { SAVINGS, CHECKING }
     public enum Status { ACTIVE, INACTIVE }
 
+    /** El número lo asigna AccountNumberGenerator antes de persistir. */
     @PrePersist
     void ensureAccountNumber() {
         if (this.accountNumber == null) {
-            var base = String.valueOf(System.nanoTime()).replaceAll("\\D","");
-            this.accountNumber = base.substring(Math.max(0, base.length() - 12))
-                    + String.valueOf((base.hashCode() & 0xffff)).substring(0, 4);
+            throw new IllegalStateException("accountNumber must be assigned by AccountNumberGenerator");
         }
     }
 }
\ No newline at end of file
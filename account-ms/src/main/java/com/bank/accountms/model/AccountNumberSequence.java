@@ -0,0 +1,20 @@
+package com.bank.accountms.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Contador global desde el que cada nodo reserva bloques de números de cuenta.
+ */
+@Entity
+@Table(name = "account_number_sequence")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class AccountNumberSequence {
+
+    @Id
+    @Column(length = 40)
+    private String name;
+
+    @Column(name = "next_value", nullable = false)
+    private Long nextValue;
+}
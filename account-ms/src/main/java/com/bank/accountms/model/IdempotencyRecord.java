@@ -0,0 +1,56 @@
+package com.bank.accountms.model;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.Instant;
+
+/**
+ * Respuesta ya entregada para un Idempotency-Key (respaldo persistente de la caché en memoria).
+ * <p>
+ * El id lo asigna la aplicación: {@link Persistable} hace que {@code save} use {@code persist}
+ * (un INSERT) en vez de {@code merge}, que haría antes un SELECT por la clave.
+ */
+@Entity
+@Table(name = "idempotency_records", indexes = {
+        @Index(name = "idx_idempotency_created_at", columnList = "created_at")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "idempotency_key", length = 200)
+    private String key;
+
+    /** SHA-256 (hex) del cuerpo de la petición original. */
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "response_json", nullable = false, length = 4000)
+    private String responseJson;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Transient
+    @Builder.Default
+    @Getter(AccessLevel.NONE) @Setter(AccessLevel.NONE)
+    private boolean fresh = true;
+
+    @Override
+    public String getId() {
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return fresh;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.fresh = false;
+    }
+}
@@ -0,0 +1,17 @@
+package com.bank.accountms.repository;
+
+import com.bank.accountms.model.AccountNumberSequence;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Optional;
+
+public interface AccountNumberSequenceRepository extends JpaRepository<AccountNumberSequence, String> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from AccountNumberSequence s where s.name = :name")
+    Optional<AccountNumberSequence> findForUpdate(@Param("name") String name);
+}
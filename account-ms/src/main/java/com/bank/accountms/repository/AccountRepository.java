@@ -1,11 +1,147 @@
 package com.bank.accountms.repository;
 
 import com.bank.accountms.model.Account;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface AccountRepository extends JpaRepository<Account, Long> {
+public interface AccountRepository extends JpaRepository<Account, Long>, JpaSpecificationExecutor<Account> {
     boolean existsByCustomerIdAndStatus(Long customerId, Account.Status status);
     Optional<Account> findByAccountNumber(String accountNumber);
-}
\ No newline at end of file
+
+    /** Clientes (de entre {@code customerIds}) que tienen al menos una cuenta en {@code status}: un solo IN. */
+    @Query("select distinct a.customerId from Account a where a.customerId in :customerIds and a.status = :status")
+    List<Long> findCustomerIdsWithStatus(@Param("customerIds") Collection<Long> customerIds,
+                                         @Param("status") Account.Status status);
+
+    /** Conteo por cliente de las cuentas en {@code status}; carga y reconcilia el índice de activas. */
+    interface CustomerCount {
+        Long getCustomerId();
+        Long getTotal();
+    }
+
+    @Query("select a.customerId as customerId, count(a) as total from Account a where a.status = :status group by a.customerId")
+    List<CustomerCount> countByCustomerWithStatus(@Param("status") Account.Status status);
+
+    /**
+     * Página por keyset (id > afterId) con solo los filtros no nulos en el WHERE: un
+     * {@code (:x is null or ...)} impediría usar {@code idx_accounts_customer_status}.
+     * Sin COUNT: devuelve List.
+     */
+    default List<Account> findPage(long afterId, Long customerId, Account.Status status, Account.Type type, int limit) {
+        Specification<Account> spec = (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+        if (customerId != null) spec = spec.and((root, query, cb) -> cb.equal(root.get("customerId"), customerId));
+        if (status != null) spec = spec.and((root, query, cb) -> cb.equal(root.get("status"), status));
+        if (type != null) spec = spec.and((root, query, cb) -> cb.equal(root.get("type"), type));
+        return findBy(spec, q -> q.sortBy(Sort.by("id")).limit(limit).all());
+    }
+
+    /**
+     * Lectura forward-only para exportaciones. En MySQL el fetch size solo se respeta con
+     * {@code useCursorFetch=true} en la URL JDBC.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select a from Account a order by a.id")
+    Stream<Account> streamAll();
+
+    /** Proyección liviana accountNumber -> id (no carga entidades en el contexto). */
+    interface AccountKey {
+        Long getId();
+        String getAccountNumber();
+    }
+
+    List<AccountKey> findByAccountNumberIn(Collection<String> accountNumbers);
+
+    /** SELECT ... FOR UPDATE en orden de id: orden de bloqueo determinista entre transacciones. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select a from Account a where a.id in :ids order by a.id")
+    List<Account> lockAllByIdOrdered(@Param("ids") Collection<Long> ids);
+
+    // ----------------------------
+    // Updates atómicos (un solo UPDATE con las reglas en el WHERE). Importes en centavos.
+    // Devuelven filas afectadas: 0 => cuenta inexistente, no ACTIVE, sin fondos o saldo fuera de rango.
+    // Las cotas se comparan contra el saldo previo para que la BD nunca evalúe una resta que desborde.
+    // ----------------------------
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Account a set a.balanceCents = a.balanceCents + :amount
+            where a.id = :id and a.status = :active and a.balanceCents <= :maxBefore
+            """)
+    int depositById(@Param("id") Long id,
+                    @Param("amount") long amount,
+                    @Param("maxBefore") long maxBefore,
+                    @Param("active") Account.Status active);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Account a set a.balanceCents = a.balanceCents + :amount
+            where a.accountNumber = :accountNumber and a.status = :active and a.balanceCents <= :maxBefore
+            """)
+    int depositByAccountNumber(@Param("accountNumber") String accountNumber,
+                               @Param("amount") long amount,
+                               @Param("maxBefore") long maxBefore,
+                               @Param("active") Account.Status active);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Account a set a.balanceCents = a.balanceCents - :amount
+            where a.id = :id and a.status = :active
+              and ((a.type = :savings and a.balanceCents >= :amount)
+                or (a.type = :checking and a.balanceCents >= :checkingMinBefore))
+            """)
+    int withdrawById(@Param("id") Long id,
+                     @Param("amount") long amount,
+                     @Param("checkingMinBefore") long checkingMinBefore,
+                     @Param("active") Account.Status active,
+                     @Param("savings") Account.Type savings,
+                     @Param("checking") Account.Type checking);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            update Account a set a.balanceCents = a.balanceCents - :amount
+            where a.accountNumber = :accountNumber and a.status = :active
+              and ((a.type = :savings and a.balanceCents >= :amount)
+                or (a.type = :checking and a.balanceCents >= :checkingMinBefore))
+            """)
+    int withdrawByAccountNumber(@Param("accountNumber") String accountNumber,
+                                @Param("amount") long amount,
+                                @Param("checkingMinBefore") long checkingMinBefore,
+                                @Param("active") Account.Status active,
+                                @Param("savings") Account.Type savings,
+                                @Param("checking") Account.Type checking);
+
+    default int depositById(Long id, long amount) {
+        return depositById(id, amount, Long.MAX_VALUE - amount, Account.Status.ACTIVE);
+    }
+
+    default int depositByAccountNumber(String accountNumber, long amount) {
+        return depositByAccountNumber(accountNumber, amount, Long.MAX_VALUE - amount, Account.Status.ACTIVE);
+    }
+
+    default int withdrawById(Long id, long amount, long checkingMinBefore) {
+        return withdrawById(id, amount, checkingMinBefore,
+                Account.Status.ACTIVE, Account.Type.SAVINGS, Account.Type.CHECKING);
+    }
+
+    default int withdrawByAccountNumber(String accountNumber, long amount, long checkingMinBefore) {
+        return withdrawByAccountNumber(accountNumber, amount, checkingMinBefore,
+                Account.Status.ACTIVE, Account.Type.SAVINGS, Account.Type.CHECKING);
+    }
+}
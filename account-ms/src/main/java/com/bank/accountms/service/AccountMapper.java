@@ -2,6 +2,7 @@ package com.bank.accountms.service;
 
 import com.bank.accountms.model.Account;
 import com.bank.accountms.service.dto.AccountResponse;
+import com.bank.accountms.service.util.Money;
 
 public final class AccountMapper {
     private AccountMapper() {}
@@ -13,7 +14,7 @@ public final class AccountMapper {
                 .customerId(a.getCustomerId())
                 .status(a.getStatus().name())
                 .type(a.getType().name())
-                .balance(a.getBalance())
+                .balance(Money.toDecimal(a.getBalanceCents()))
                 .build();
     }
 }
@@ -0,0 +1,6 @@
+package com.bank.accountms.service;
+
+public interface AccountNumberGenerator {
+    /** Devuelve un número de cuenta único (15 dígitos de secuencia + dígito verificador Luhn). */
+    String next();
+}
@@ -0,0 +1,64 @@
+package com.bank.accountms.service;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.service.exception.BusinessException;
+import com.bank.accountms.service.util.Money;
+
+import java.math.BigDecimal;
+
+/**
+ * Reglas de negocio de saldo compartidas por el servicio JPA y el ledger en memoria.
+ * Saldos e importes en centavos ({@link Money}).
+ */
+public final class AccountRules {
+    private AccountRules() {}
+
+    public static final long OVERDRAFT_LIMIT_CENTS = -50_000; // límite para CHECKING (-500)
+
+    public static void assertPositive(BigDecimal amount) {
+        if (amount == null || amount.signum() <= 0)
+            throw new BusinessException("Amount must be greater than zero");
+    }
+
+    /** Valida el importe recibido y lo pasa a centavos. */
+    public static long amountCents(BigDecimal amount) {
+        assertPositive(amount);
+        return Money.toCents(amount);
+    }
+
+    public static void assertActive(Account.Status status) {
+        if (status != Account.Status.ACTIVE) {
+            throw new BusinessException("Account is not ACTIVE");
+        }
+    }
+
+    public static void assertTransfer(Long fromId, Long toId, BigDecimal amount) {
+        if (fromId == null || toId == null) throw new BusinessException("Source and target accounts are required");
+        if (fromId.equals(toId)) throw new BusinessException("Source and target accounts must be different");
+        assertPositive(amount);
+    }
+
+    public static long deposit(long balance, long amount) {
+        return Money.add(balance, amount);
+    }
+
+    /** Devuelve el nuevo saldo tras el retiro o lanza BusinessException si lo impide el tipo de cuenta. */
+    public static long withdraw(Account.Type type, long balance, long amount) {
+        long newBalance = Money.subtract(balance, amount);
+        switch (type) {
+            case SAVINGS -> {
+                if (newBalance < 0) throw new BusinessException("Insufficient funds");
+            }
+            case CHECKING -> {
+                if (newBalance < OVERDRAFT_LIMIT_CENTS)
+                    throw new BusinessException("Overdraft limit exceeded (-500)");
+            }
+        }
+        return newBalance;
+    }
+
+    /** Saldo mínimo previo para que un retiro de {@code amount} en CHECKING no pase el descubierto. */
+    public static long checkingMinimumBefore(long amount) {
+        return Money.add(OVERDRAFT_LIMIT_CENTS, amount);
+    }
+}
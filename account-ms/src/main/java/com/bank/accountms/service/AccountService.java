@@ -1,14 +1,25 @@
 package com.bank.accountms.service;
 
 import com.bank.accountms.service.dto.AccountRequest;
+import com.bank.accountms.service.dto.BatchOperation;
+import com.bank.accountms.service.dto.BatchOperationResult;
+import com.bank.accountms.service.dto.PageResponse;
 import com.bank.accountms.service.dto.AccountResponse;
 import com.bank.accountms.service.dto.TransactionRequest;
+import com.bank.accountms.service.dto.TransferRequest;
+import com.bank.accountms.service.dto.TransferResponse;
 
+import java.io.OutputStream;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface AccountService {
     AccountResponse create(AccountRequest request);
     List<AccountResponse> findAll();
+    /** Escribe todas las cuentas como NDJSON (una por línea) sin materializar la lista. */
+    void exportAll(OutputStream out);
+    PageResponse<AccountResponse> findPage(Long customerId, String status, String type, String cursor, int limit);
     AccountResponse findById(Long id);
     AccountResponse deposit(Long id, TransactionRequest request);
     AccountResponse withdraw(Long id, TransactionRequest request);
@@ -17,7 +28,12 @@ public interface AccountService {
     AccountResponse depositByAccountNumber(String accountNumber, TransactionRequest request);
     AccountResponse withdrawByAccountNumber(String accountNumber, TransactionRequest request);
 
+    TransferResponse transfer(TransferRequest request);
+    List<BatchOperationResult> applyBatch(List<BatchOperation> operations);
+
     boolean hasActiveAccounts(Long customerId);
+    /** customerId -> tiene cuentas ACTIVE, para todos los ids pedidos. */
+    Map<Long, Boolean> hasActiveAccounts(Collection<Long> customerIds);
     void delete(Long id);
 
 }
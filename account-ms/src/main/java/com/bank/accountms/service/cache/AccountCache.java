@@ -0,0 +1,268 @@
+package com.bank.accountms.service.cache;
+
+import com.bank.accountms.service.dto.AccountResponse;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Caché read-through de {@link AccountResponse} por id y por número de cuenta, acotada por
+ * tamaño y con TTL. Los snapshots se comparten entre requests: no se modifican.
+ * <p>
+ * Las escrituras de AccountServiceImpl la actualizan en la misma transacción: mientras la fila
+ * está bloqueada la entrada queda "pendiente" (cuenta como miss y ninguna lectura la pisa) y al
+ * hacer commit se publica el snapshot nuevo; un rollback solo quita la marca. Cada escritura
+ * toma un número de secuencia con la fila bloqueada, así un commit anterior que llega tarde no
+ * pisa a uno posterior. Una lectura solo publica lo que cargó si la entrada no cambió mientras
+ * iba a la BD. Un borrado confirmado deja una lápida por un TTL: una lectura que cargó la fila
+ * antes del borrado no puede volver a publicarla.
+ * <p>
+ * Es local a cada instancia y no hay invalidación entre réplicas: con varias réplicas, una
+ * puede servir un saldo o una cuenta borrada por otra hasta {@code account-cache.ttl-seconds}
+ * (30 s por defecto). Supone una sola instancia o lecturas que toleran ese atraso; si no,
+ * bajar el TTL o desactivarla con {@code account-cache.enabled=false}.
+ */
+@Component
+public class AccountCache {
+
+    public record Stats(long hits, long misses, long evictions, int size, double hitRate) {}
+
+    private static final class Entry {
+        final AccountResponse response; // null = escritura en curso o lápida
+        final String accountNumber;
+        final long seq;
+        final long expiresAt;
+        final boolean tombstone; // borrado confirmado: ocupa el hueco hasta expirar
+        int hits; // aproximado: solo ordena el warm-up
+        long lastUsed = System.nanoTime(); // aproximado: solo ordena el recorte
+
+        Entry(AccountResponse response, String accountNumber, long seq, long expiresAt) {
+            this(response, accountNumber, seq, expiresAt, false);
+        }
+
+        Entry(AccountResponse response, String accountNumber, long seq, long expiresAt, boolean tombstone) {
+            this.response = response;
+            this.accountNumber = accountNumber;
+            this.seq = seq;
+            this.expiresAt = expiresAt;
+            this.tombstone = tombstone;
+        }
+
+        boolean pending() {
+            return response == null && !tombstone;
+        }
+
+        /** Ni pendiente ni lápida vigente: una lectura puede reemplazarla. */
+        boolean replaceable(long now) {
+            return response != null || (tombstone && expiresAt <= now);
+        }
+    }
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final int lowWaterMark;
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private final long ttlMillis;
+    private final Map<Long, Entry> byId = new ConcurrentHashMap<>();
+    private final Map<String, Long> idsByNumber = new ConcurrentHashMap<>();
+    private final AtomicLong writes = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public AccountCache(MeterRegistry meterRegistry,
+                        @Value("${account-cache.enabled:true}") boolean enabled,
+                        @Value("${account-cache.max-entries:10000}") int maxEntries,
+                        @Value("${account-cache.ttl-seconds:30}") long ttlSeconds) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.lowWaterMark = maxEntries - Math.max(1, maxEntries / 10);
+        this.ttlMillis = ttlSeconds * 1000;
+
+        Tags tags = Tags.of("cache", "accounts");
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum).tags(tags).tag("result", "hit").register(meterRegistry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum).tags(tags).tag("result", "miss").register(meterRegistry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum).tags(tags).register(meterRegistry);
+        Gauge.builder("cache.size", byId, Map::size).tags(tags).register(meterRegistry);
+        Gauge.builder("cache.hit.ratio", this, c -> c.stats().hitRate()).tags(tags).register(meterRegistry);
+    }
+
+    public AccountResponse get(Long id, Supplier<AccountResponse> loader) {
+        if (!enabled) return loader.get();
+        Entry e = byId.get(id);
+        if (isFresh(e)) {
+            e.hits++;
+            e.lastUsed = System.nanoTime();
+            hits.increment();
+            return e.response;
+        }
+        misses.increment();
+        AccountResponse loaded = loader.get();
+        offer(id, e, loaded);
+        return loaded;
+    }
+
+    public AccountResponse getByAccountNumber(String accountNumber, Supplier<AccountResponse> loader) {
+        if (!enabled) return loader.get();
+        Long id = idsByNumber.get(accountNumber);
+        Entry e = id == null ? null : byId.get(id);
+        if (isFresh(e)) {
+            e.hits++;
+            e.lastUsed = System.nanoTime();
+            hits.increment();
+            return e.response;
+        }
+        misses.increment();
+        AccountResponse loaded = loader.get();
+        // Sin id conocido no hay entrada observada: solo se publica si el hueco sigue libre
+        offer(loaded.getId(), id == null ? null : e, loaded);
+        return loaded;
+    }
+
+    /**
+     * Snapshot escrito por la transacción en curso, con la fila aún bloqueada.
+     * Se publica al hacer commit; sin transacción, en el acto.
+     */
+    public void written(AccountResponse snapshot) {
+        if (!enabled) return;
+        Long id = snapshot.getId();
+        long seq = writes.incrementAndGet();
+        Entry pending = new Entry(null, snapshot.getAccountNumber(), seq, Long.MAX_VALUE);
+        byId.compute(id, (k, cur) -> cur != null && cur.seq > seq ? cur : pending);
+        afterCompletion(committed -> {
+            if (committed) {
+                Entry ready = new Entry(snapshot, snapshot.getAccountNumber(), seq, System.currentTimeMillis() + ttlMillis);
+                byId.compute(id, (k, cur) -> cur != null && cur.seq > seq ? cur : ready);
+                idsByNumber.put(snapshot.getAccountNumber(), id);
+                trimIfNeeded();
+            } else {
+                byId.remove(id, pending);
+            }
+        });
+    }
+
+    /**
+     * La cuenta se borra en la transacción en curso. Mismo guard que {@link #written}: no pisa
+     * una escritura posterior y, al confirmar, deja una lápida en lugar de vaciar el hueco.
+     */
+    public void deleted(Long id, String accountNumber) {
+        if (!enabled) return;
+        long seq = writes.incrementAndGet();
+        Entry pending = new Entry(null, accountNumber, seq, Long.MAX_VALUE);
+        byId.compute(id, (k, cur) -> cur != null && cur.seq > seq ? cur : pending);
+        afterCompletion(committed -> {
+            if (committed) {
+                Entry tombstone = new Entry(null, accountNumber, seq, System.currentTimeMillis() + ttlMillis, true);
+                byId.compute(id, (k, cur) -> cur != null && cur.seq > seq ? cur : tombstone);
+                idsByNumber.remove(accountNumber, id);
+            } else {
+                byId.remove(id, pending);
+            }
+        });
+    }
+
+    /** Carga inicial: solo ocupa huecos, nunca pisa lo que ya escribió o leyó el tráfico. */
+    public void warm(Collection<AccountResponse> snapshots) {
+        if (!enabled) return;
+        for (AccountResponse s : snapshots) offer(s.getId(), null, s);
+    }
+
+    /** Ids de las entradas con más aciertos, para el próximo warm-up. */
+    public List<Long> hottest(int limit) {
+        List<Map.Entry<Long, Entry>> ranked = new ArrayList<>(byId.entrySet());
+        ranked.removeIf(e -> e.getValue().response == null);
+        ranked.sort(Comparator.comparingInt((Map.Entry<Long, Entry> e) -> e.getValue().hits).reversed());
+        return ranked.stream().limit(limit).map(Map.Entry::getKey).toList();
+    }
+
+    public Stats stats() {
+        long h = hits.sum(), m = misses.sum();
+        return new Stats(h, m, evictions.sum(), byId.size(), h + m == 0 ? 0.0 : (double) h / (h + m));
+    }
+
+    private static boolean isFresh(Entry e) {
+        return e != null && e.response != null && e.expiresAt > System.currentTimeMillis();
+    }
+
+    /**
+     * Publica una lectura si la entrada sigue como estaba antes de ir a la BD (y no hay escritura
+     * en curso ni lápida vigente).
+     */
+    private void offer(Long id, Entry observed, AccountResponse loaded) {
+        long now = System.currentTimeMillis();
+        if (observed != null && !observed.replaceable(now)) return;
+        Entry fresh = new Entry(loaded, loaded.getAccountNumber(), 0, now + ttlMillis);
+        boolean stored = observed == null ? byId.putIfAbsent(id, fresh) == null : byId.replace(id, observed, fresh);
+        if (stored) {
+            idsByNumber.put(loaded.getAccountNumber(), id);
+            trimIfNeeded();
+        }
+    }
+
+    /**
+     * Al pasar {@code maxEntries} recorta de una vez hasta el 90 %: primero los vencidos y después
+     * los de uso más antiguo, así el recorrido se paga una vez cada {@code maxEntries / 10} altas.
+     * Las pendientes y lápidas vigentes nunca salen. Un solo hilo recorta a la vez.
+     */
+    private void trimIfNeeded() {
+        if (byId.size() <= maxEntries || !trimming.compareAndSet(false, true)) return;
+        try {
+            long now = System.currentTimeMillis();
+            for (var e : byId.entrySet()) {
+                if (!e.getValue().pending() && e.getValue().expiresAt <= now) evict(e);
+            }
+            int excess = byId.size() - lowWaterMark;
+            if (excess <= 0) return;
+            long[] used = byId.values().stream().filter(e -> e.replaceable(now)).mapToLong(e -> e.lastUsed).toArray();
+            if (used.length == 0) return;
+            Arrays.sort(used);
+            long cutoff = used[Math.min(excess, used.length) - 1];
+            for (var e : byId.entrySet()) {
+                if (e.getValue().replaceable(now) && e.getValue().lastUsed <= cutoff) evict(e);
+            }
+        } finally {
+            trimming.set(false);
+        }
+    }
+
+    private void evict(Map.Entry<Long, Entry> e) {
+        if (byId.remove(e.getKey(), e.getValue())) {
+            idsByNumber.remove(e.getValue().accountNumber, e.getKey());
+            evictions.increment();
+        }
+    }
+
+    private interface Completion {
+        void run(boolean committed);
+    }
+
+    private static void afterCompletion(Completion action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run(true);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                action.run(status == STATUS_COMMITTED);
+            }
+        });
+    }
+}
@@ -0,0 +1,85 @@
+package com.bank.accountms.service.cache;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.repository.AccountRepository;
+import com.bank.accountms.service.AccountMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Warm-up de {@link AccountCache} al arrancar. Con {@code account-cache.warmup-file} se cargan
+ * las cuentas con más aciertos de la ejecución anterior (el archivo se reescribe al apagar);
+ * sin archivo, o si aún no existe, las {@code warmup-size} cuentas más recientes.
+ */
+@Component
+public class AccountCacheWarmup implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(AccountCacheWarmup.class);
+
+    private final AccountCache cache;
+    private final AccountRepository repository;
+    private final int size;
+    private final String file;
+
+    public AccountCacheWarmup(AccountCache cache,
+                              AccountRepository repository,
+                              @Value("${account-cache.warmup-size:500}") int size,
+                              @Value("${account-cache.warmup-file:}") String file) {
+        this.cache = cache;
+        this.repository = repository;
+        this.size = size;
+        this.file = file;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (size <= 0) return;
+        try {
+            List<Long> hot = readHotIds();
+            List<Account> accounts = hot.isEmpty()
+                    ? repository.findAll(PageRequest.of(0, size, Sort.by(Sort.Direction.DESC, "id"))).getContent()
+                    : repository.findAllById(hot);
+            cache.warm(accounts.stream().map(AccountMapper::toResponse).toList());
+            log.info("Account cache warmed with {} accounts ({})", accounts.size(), hot.isEmpty() ? "most recent" : "hottest");
+        } catch (RuntimeException ex) {
+            log.warn("Account cache warm-up failed, starting cold", ex);
+        }
+    }
+
+    @PreDestroy
+    void saveHotIds() {
+        if (file.isBlank()) return;
+        try {
+            Files.write(Path.of(file), cache.hottest(size).stream().map(String::valueOf).toList());
+        } catch (IOException ex) {
+            log.warn("Cannot write account cache warm-up file {}", file, ex);
+        }
+    }
+
+    private List<Long> readHotIds() {
+        if (file.isBlank() || !Files.exists(Path.of(file))) return List.of();
+        try {
+            return Files.readAllLines(Path.of(file)).stream()
+                    .map(String::trim)
+                    .filter(l -> !l.isEmpty())
+                    .map(Long::valueOf)
+                    .limit(size)
+                    .toList();
+        } catch (IOException | NumberFormatException ex) {
+            log.warn("Ignoring unreadable account cache warm-up file {}", file, ex);
+            return List.of();
+        }
+    }
+}
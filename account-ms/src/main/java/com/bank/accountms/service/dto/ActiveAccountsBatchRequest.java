@@ -0,0 +1,13 @@
+package com.bank.accountms.service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ActiveAccountsBatchRequest {
+    @NotEmpty @Size(max = 1000)
+    private List<Long> customerIds;
+}
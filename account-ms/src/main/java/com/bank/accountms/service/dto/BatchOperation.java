@@ -0,0 +1,17 @@
+package com.bank.accountms.service.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Operación individual de un lote. Se identifica la cuenta por accountId o por accountNumber.
+ * Las validaciones se hacen por ítem en el servicio para devolver un resultado por operación.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BatchOperation {
+    private Long accountId;
+    private String accountNumber;
+    private String type;        // "DEPOSIT" | "WITHDRAW"
+    private BigDecimal amount;
+}
@@ -0,0 +1,19 @@
+package com.bank.accountms.service.dto;
+
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BatchOperationResult {
+    private int index;
+    private String status;          // "OK" | "REJECTED"
+    private AccountResponse account; // saldo tras la operación (solo si OK)
+    private String error;           // motivo del rechazo (solo si REJECTED)
+
+    public static BatchOperationResult ok(int index, AccountResponse account) {
+        return BatchOperationResult.builder().index(index).status("OK").account(account).build();
+    }
+
+    public static BatchOperationResult rejected(int index, String error) {
+        return BatchOperationResult.builder().index(index).status("REJECTED").error(error).build();
+    }
+}
@@ -0,0 +1,13 @@
+package com.bank.accountms.service.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class BatchTransactionRequest {
+    @NotEmpty @Size(max = 5000)
+    private List<BatchOperation> operations;
+}
@@ -0,0 +1,14 @@
+package com.bank.accountms.service.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+/**
+ * Página por keyset: {@code nextCursor} es null cuando no hay más resultados.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class PageResponse<T> {
+    private List<T> items;
+    private String nextCursor;
+}
@@ -0,0 +1,16 @@
+package com.bank.accountms.service.dto;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TransferRequest {
+    @NotNull private Long fromAccountId;
+    @NotNull private Long toAccountId;
+
+    @NotNull @DecimalMin("0.01")
+    private BigDecimal amount;
+}
@@ -0,0 +1,9 @@
+package com.bank.accountms.service.dto;
+
+import lombok.*;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class TransferResponse {
+    private AccountResponse from;
+    private AccountResponse to;
+}
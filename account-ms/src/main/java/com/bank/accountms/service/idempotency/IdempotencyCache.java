@@ -0,0 +1,214 @@
+package com.bank.accountms.service.idempotency;
+
+import com.bank.accountms.model.IdempotencyRecord;
+import com.bank.accountms.repository.IdempotencyRecordRepository;
+import com.bank.accountms.service.exception.BusinessException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Soporte de {@code Idempotency-Key} para los endpoints de movimientos.
+ * <p>
+ * Primer nivel: mapa en memoria acotado (FIFO por inserción) con TTL, que guarda el future
+ * de cada ejecución; un duplicado concurrente espera ese mismo future en vez de re-ejecutar,
+ * y un replay posterior se responde desde memoria sin tocar la fila de la cuenta.
+ * Segundo nivel: tabla {@code idempotency_records}, escrita en la misma transacción que el
+ * movimiento, para responder replays tras un reinicio o una expulsión de memoria.
+ * Las ejecuciones fallidas no se cachean: el cliente puede reintentar.
+ * <p>
+ * Cada clave queda ligada al hash SHA-256 del cuerpo de la petición: reusar la clave con otro
+ * importe o destino se rechaza ({@link BusinessException}, 409) en vez de devolver en silencio la
+ * primera respuesta.
+ * <p>
+ * El mapa en memoria tiene un tope estricto: al llenarse expulsa las entradas terminadas más
+ * antiguas; si todas siguen en vuelo, la petición se rechaza.
+ * <p>
+ * En modo ledger ({@code ledger.engine.enabled=true}) el movimiento lo aplica el shard, fuera de
+ * esta transacción: la fila de idempotencia y el movimiento no son atómicos. Si la inserción
+ * falla tras aplicar el movimiento, un reintento con la misma clave lo vuelve a aplicar.
+ */
+@Component
+public class IdempotencyCache {
+
+    private static final Logger log = LoggerFactory.getLogger(IdempotencyCache.class);
+    private static final int MAX_KEY_LENGTH = 200;
+
+    private record Slot(CompletableFuture<Object> future, String requestHash, long expiresAt) {}
+
+    private final IdempotencyRecordRepository repository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate tx;
+    private final int maxEntries;
+    private final long ttlMillis;
+    private final Duration retention;
+    private final Map<String, Slot> entries;
+    private final ScheduledExecutorService cleaner;
+
+    public IdempotencyCache(IdempotencyRecordRepository repository,
+                            ObjectMapper objectMapper,
+                            PlatformTransactionManager txManager,
+                            @Value("${idempotency.max-entries:10000}") int maxEntries,
+                            @Value("${idempotency.ttl-seconds:600}") long ttlSeconds,
+                            @Value("${idempotency.retention-hours:24}") long retentionHours) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+        this.tx = new TransactionTemplate(txManager);
+        this.maxEntries = maxEntries;
+        this.ttlMillis = TimeUnit.SECONDS.toMillis(ttlSeconds);
+        this.retention = Duration.ofHours(retentionHours);
+        this.entries = new LinkedHashMap<>(16, 0.75f, false);
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "idempotency-cleaner");
+            t.setDaemon(true);
+            return t;
+        });
+        cleaner.scheduleWithFixedDelay(this::purge, 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * Ejecuta {@code action} una sola vez por clave. Sin clave, ejecuta directamente.
+     *
+     * @param scope   operación y recurso (p. ej. {@code "deposit:id:5"}), para que la misma clave
+     *                no se comparta entre endpoints distintos
+     * @param request cuerpo de la petición; un reintento con la misma clave debe traer el mismo
+     */
+    public <T> T execute(String scope, String key, Object request, Class<T> type, Supplier<T> action) {
+        if (key == null || key.isBlank()) return action.get();
+        String fullKey = scope + ":" + key;
+        if (fullKey.length() > MAX_KEY_LENGTH) throw new BusinessException("Idempotency-Key is too long");
+        String requestHash = hash(request);
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> existing;
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Slot e = entries.get(fullKey);
+            if (e != null && e.expiresAt() > now) {
+                assertSameRequest(e.requestHash(), requestHash);
+                existing = e.future();
+            } else {
+                existing = null;
+                if (e == null) makeRoom();
+                entries.put(fullKey, new Slot(mine, requestHash, now + ttlMillis));
+            }
+        }
+        if (existing != null) return type.cast(await(existing));
+
+        try {
+            T result = tx.execute(status -> repository.findById(fullKey)
+                    .map(r -> {
+                        assertSameRequest(r.getRequestHash(), requestHash);
+                        return read(r.getResponseJson(), type);
+                    })
+                    .orElseGet(() -> {
+                        T fresh = action.get();
+                        repository.save(IdempotencyRecord.builder()
+                                .key(fullKey)
+                                .requestHash(requestHash)
+                                .responseJson(write(fresh))
+                                .createdAt(Instant.now())
+                                .build());
+                        return fresh;
+                    }));
+            mine.complete(result);
+            return result;
+        } catch (RuntimeException ex) {
+            synchronized (entries) {
+                Slot current = entries.get(fullKey);
+                if (current != null && current.future() == mine) entries.remove(fullKey);
+            }
+            mine.completeExceptionally(ex);
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        cleaner.shutdown();
+    }
+
+    /** Tope estricto: expulsa las entradas terminadas más antiguas; las que siguen en vuelo no se tocan. */
+    private void makeRoom() {
+        for (Iterator<Slot> it = entries.values().iterator(); entries.size() >= maxEntries && it.hasNext(); ) {
+            if (it.next().future().isDone()) it.remove();
+        }
+        if (entries.size() >= maxEntries) throw new BusinessException("Too many idempotent requests in flight, retry later");
+    }
+
+    private static void assertSameRequest(String stored, String requestHash) {
+        if (!stored.equals(requestHash)) {
+            throw new BusinessException("Idempotency-Key was already used with a different request");
+        }
+    }
+
+    private String hash(Object request) {
+        try {
+            byte[] body = request == null
+                    ? new byte[0]
+                    : objectMapper.writeValueAsString(request).getBytes(StandardCharsets.UTF_8);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(body));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint idempotent request", e);
+        }
+    }
+
+    private void purge() {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            for (Iterator<Slot> it = entries.values().iterator(); it.hasNext(); ) {
+                Slot e = it.next();
+                if (e.expiresAt() <= now && e.future().isDone()) it.remove();
+            }
+        }
+        try {
+            int deleted = repository.deleteCreatedBefore(Instant.now().minus(retention));
+            if (deleted > 0) log.debug("Purged {} idempotency records", deleted);
+        } catch (RuntimeException ex) {
+            log.warn("Idempotency records purge failed", ex);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ce) {
+            if (ce.getCause() instanceof RuntimeException re) throw re;
+            throw ce;
+        }
+    }
+
+    private String write(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize idempotent response", e);
+        }
+    }
+
+    private <T> T read(String json, Class<T> type) {
+        try {
+            return objectMapper.readValue(json, type);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot deserialize idempotent response", e);
+        }
+    }
+}
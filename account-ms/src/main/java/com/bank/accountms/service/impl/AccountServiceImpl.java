@@ -3,22 +3,48 @@ package com.bank.accountms.service.impl;
 import com.bank.accountms.model.Account;
 import com.bank.accountms.repository.AccountRepository;
 import com.bank.accountms.service.AccountMapper;
+import com.bank.accountms.service.AccountNumberGenerator;
+import com.bank.accountms.service.AccountRules;
 import com.bank.accountms.service.AccountService;
 import com.bank.accountms.service.CustomerClient;
+import com.bank.accountms.service.cache.AccountCache;
 import com.bank.accountms.service.dto.AccountRequest;
 import com.bank.accountms.service.dto.AccountResponse;
+import com.bank.accountms.service.dto.BatchOperation;
+import com.bank.accountms.service.dto.BatchOperationResult;
+import com.bank.accountms.service.dto.PageResponse;
 import com.bank.accountms.service.dto.TransactionRequest;
+import com.bank.accountms.service.dto.TransferRequest;
+import com.bank.accountms.service.dto.TransferResponse;
 import com.bank.accountms.service.exception.BusinessException;
 import com.bank.accountms.service.exception.NotFoundException;
+import com.bank.accountms.service.index.ActiveAccountIndex;
+import com.bank.accountms.service.journal.JournalEntry;
+import com.bank.accountms.service.journal.TransactionJournal;
+import com.bank.accountms.service.util.Cursors;
+import com.bank.accountms.service.util.Money;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.math.BigDecimal;
-import java.util.List;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
 
 import static com.bank.accountms.service.AccountMapper.toResponse;
 
@@ -27,23 +53,38 @@ import static com.bank.accountms.service.AccountMapper.toResponse;
 @Transactional
 public class AccountServiceImpl implements AccountService {
 
-    private static final BigDecimal ZERO = BigDecimal.ZERO;
-    private static final BigDecimal OVERDRAFT_LIMIT = new BigDecimal("-500"); // límite para CHECKING
+    private static final Logger log = LoggerFactory.getLogger(AccountServiceImpl.class);
     private static final long CUSTOMER_LOOKUP_TIMEOUT_SECONDS = 3;
+    private static final int EXPORT_FLUSH_EVERY = 500;
 
     private final AccountRepository repository;
     private final CustomerClient customerClient;
+    private final TransactionJournal journal;
+    private final AccountNumberGenerator accountNumberGenerator;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    private final ActiveAccountIndex activeIndex;
+    private final AccountCache cache;
+    private final TransactionTemplate tx;
 
     // ----------------------------
     // Crear / Listar / Obtener por ID
     // ----------------------------
+
+    /**
+     * La consulta a CustomerMS (hasta {@code CUSTOMER_LOOKUP_TIMEOUT_SECONDS}) va fuera de la
+     * transacción: con ella dentro, cada alta lenta retenía una conexión de Hikari mientras
+     * esperaba la red y, bajo carga, el resto de operaciones se quedaban sin pool.
+     */
     @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public AccountResponse create(AccountRequest r) {
         if (r.getCustomerId() == null) throw new BusinessException("customerId is required");
         if (r.getType() == null) throw new BusinessException("type is required");
-        if (r.getInitialBalance() == null || r.getInitialBalance().compareTo(ZERO) <= 0) {
+        if (r.getInitialBalance() == null || r.getInitialBalance().signum() <= 0) {
             throw new BusinessException("initialBalance must be > 0");
         }
+        long initialBalance = Money.toCents(r.getInitialBalance());
 
         // validar cliente en CustomerMS
         boolean exists;
@@ -56,6 +97,7 @@ public class AccountServiceImpl implements AccountService {
             Thread.currentThread().interrupt();
             throw new BusinessException("Customer service interrupted", e);
         } catch (ExecutionException e) {
+            if (e.getCause() instanceof BusinessException be) throw be; // circuito abierto / bulkhead lleno
             throw new BusinessException("Customer service unavailable", e.getCause());
         }
         if (!exists) throw new NotFoundException("Customer not found");
@@ -68,13 +110,18 @@ public class AccountServiceImpl implements AccountService {
         }
 
         Account a = Account.builder()
+                .accountNumber(accountNumberGenerator.next())
                 .customerId(r.getCustomerId())
                 .type(type)
                 .status(Account.Status.ACTIVE)
-                .balance(r.getInitialBalance())
+                .balanceCents(initialBalance)
                 .build();
 
-        return toResponse(repository.save(a));
+        return tx.execute(status -> {
+            Account saved = repository.save(a);
+            activeIndex.activated(saved.getCustomerId());
+            return cached(toResponse(saved));
+        });
     }
 
     @Override
@@ -83,108 +130,239 @@ public class AccountServiceImpl implements AccountService {
         return repository.findAll().stream().map(AccountMapper::toResponse).toList();
     }
 
+    /**
+     * Recorre la tabla con un Stream forward-only, desacopla cada entidad del contexto de
+     * persistencia tras escribirla y vacía la salida cada {@code EXPORT_FLUSH_EVERY} filas:
+     * el heap se mantiene plano sin importar el número de cuentas.
+     */
     @Override
     @Transactional(readOnly = true)
+    public void exportAll(OutputStream out) {
+        ObjectWriter writer = objectMapper.writerFor(AccountResponse.class);
+        try (Stream<Account> rows = repository.streamAll()) {
+            int n = 0;
+            for (Iterator<Account> it = rows.iterator(); it.hasNext(); ) {
+                Account a = it.next();
+                out.write(writer.writeValueAsBytes(toResponse(a)));
+                out.write('\n');
+                entityManager.detach(a);
+                if (++n % EXPORT_FLUSH_EVERY == 0) out.flush();
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Account export interrupted", e);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PageResponse<AccountResponse> findPage(Long customerId, String status, String type, String cursor, int limit) {
+        int size = Cursors.clampLimit(limit);
+        List<Account> rows = repository.findPage(Cursors.decode(cursor), customerId,
+                status == null ? null : parseEnum(Account.Status.class, status, "Invalid status. Allowed: ACTIVE, INACTIVE"),
+                type == null ? null : parseEnum(Account.Type.class, type, "Invalid account type. Allowed: SAVINGS, CHECKING"),
+                size + 1); // uno extra para saber si hay siguiente página
+
+        boolean hasNext = rows.size() > size;
+        List<AccountResponse> items = rows.stream().limit(size).map(AccountMapper::toResponse).toList();
+        return PageResponse.<AccountResponse>builder()
+                .items(items)
+                .nextCursor(hasNext ? Cursors.encode(items.get(items.size() - 1).getId()) : null)
+                .build();
+    }
+
+    // Un acierto de caché no abre transacción; en un fallo la abre el repositorio.
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public AccountResponse findById(Long id) {
-        Account a = repository.findById(id).orElseThrow(() -> new NotFoundException("Account not found"));
-        return toResponse(a);
+        return cache.get(id, () -> toResponse(getByIdOrThrow(id)));
     }
 
     // ----------------------------
     // Operaciones por ID
     // ----------------------------
+    // Dos viajes a BD por movimiento confirmado, a propósito: el UPDATE con las reglas en el WHERE
+    // y un SELECT por clave para el saldo resultante. MySQL no tiene UPDATE ... RETURNING, y leer
+    // antes (SELECT ... FOR UPDATE) también son dos sentencias pero con el lock tomado entre ambas.
+    // El SELECT va después del UPDATE, en la misma transacción: lee la fila ya bloqueada por este
+    // UPDATE, sin esperas, y devuelve exactamente el saldo que queda al hacer commit.
     @Override
     public AccountResponse deposit(Long id, TransactionRequest r) {
-        if (r.getAmount() == null || r.getAmount().signum() <= 0)
-            throw new BusinessException("Amount must be greater than zero");
-
-        Account a = repository.findById(id).orElseThrow(() -> new NotFoundException("Account not found"));
-        assertActive(a);
+        long amount = AccountRules.amountCents(r.getAmount());
 
-        a.setBalance(a.getBalance().add(r.getAmount()));
-        return toResponse(repository.save(a));
+        if (repository.depositById(id, amount) == 0) {
+            throw rejection(getByIdOrThrow(id), amount, false);
+        }
+        return journaled(getByIdOrThrow(id), JournalEntry.Direction.DEPOSIT, amount);
     }
 
     @Override
     public AccountResponse withdraw(Long id, TransactionRequest r) {
-        if (r.getAmount() == null || r.getAmount().signum() <= 0)
-            throw new BusinessException("Amount must be greater than zero");
-
-        Account a = repository.findById(id).orElseThrow(() -> new NotFoundException("Account not found"));
-        assertActive(a);
+        long amount = AccountRules.amountCents(r.getAmount());
 
-        BigDecimal newBalance = a.getBalance().subtract(r.getAmount());
-        switch (a.getType()) {
-            case SAVINGS -> {
-                if (newBalance.compareTo(ZERO) < 0) throw new BusinessException("Insufficient funds");
-            }
-            case CHECKING -> {
-                if (newBalance.compareTo(OVERDRAFT_LIMIT) < 0)
-                    throw new BusinessException("Overdraft limit exceeded (-500)");
-            }
+        if (repository.withdrawById(id, amount, AccountRules.checkingMinimumBefore(amount)) == 0) {
+            throw rejection(getByIdOrThrow(id), amount, true);
         }
-        a.setBalance(newBalance);
-        return toResponse(repository.save(a));
+        return journaled(getByIdOrThrow(id), JournalEntry.Direction.WITHDRAW, amount);
     }
 
     // ----------------------------
     // Operaciones por accountNumber
     // ----------------------------
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public AccountResponse findByAccountNumber(String accountNumber) {
-        return toResponse(getByAccountNumberOrThrow(accountNumber));
+        return cache.getByAccountNumber(accountNumber, () -> toResponse(getByAccountNumberOrThrow(accountNumber)));
     }
 
     @Override
     public AccountResponse depositByAccountNumber(String accountNumber, TransactionRequest r) {
-        if (r.getAmount() == null || r.getAmount().signum() <= 0)
-            throw new BusinessException("Amount must be greater than zero");
-
-        Account a = getByAccountNumberOrThrow(accountNumber);
-        assertActive(a);
+        long amount = AccountRules.amountCents(r.getAmount());
 
-        a.setBalance(a.getBalance().add(r.getAmount()));
-        return toResponse(repository.save(a));
+        if (repository.depositByAccountNumber(accountNumber, amount) == 0) {
+            throw rejection(getByAccountNumberOrThrow(accountNumber), amount, false);
+        }
+        return journaled(getByAccountNumberOrThrow(accountNumber), JournalEntry.Direction.DEPOSIT, amount);
     }
 
     @Override
     public AccountResponse withdrawByAccountNumber(String accountNumber, TransactionRequest r) {
-        if (r.getAmount() == null || r.getAmount().signum() <= 0)
-            throw new BusinessException("Amount must be greater than zero");
+        long amount = AccountRules.amountCents(r.getAmount());
 
-        Account a = getByAccountNumberOrThrow(accountNumber);
-        assertActive(a);
+        if (repository.withdrawByAccountNumber(accountNumber, amount, AccountRules.checkingMinimumBefore(amount)) == 0) {
+            throw rejection(getByAccountNumberOrThrow(accountNumber), amount, true);
+        }
+        return journaled(getByAccountNumberOrThrow(accountNumber), JournalEntry.Direction.WITHDRAW, amount);
+    }
+
+    // ----------------------------
+    // Transferencias
+    // ----------------------------
+    /**
+     * Débito y crédito en la misma transacción. Ambas filas se bloquean con un único
+     * SELECT ... FOR UPDATE ordenado por id, así dos transferencias opuestas entre las mismas
+     * cuentas toman los locks en el mismo orden y nunca hacen deadlock.
+     */
+    @Override
+    public TransferResponse transfer(TransferRequest r) {
+        AccountRules.assertTransfer(r.getFromAccountId(), r.getToAccountId(), r.getAmount());
+        long amount = Money.toCents(r.getAmount());
 
-        BigDecimal newBalance = a.getBalance().subtract(r.getAmount());
-        switch (a.getType()) {
-            case SAVINGS -> {
-                if (newBalance.compareTo(ZERO) < 0) throw new BusinessException("Insufficient funds");
+        Account from = null, to = null;
+        for (Account a : repository.lockAllByIdOrdered(List.of(r.getFromAccountId(), r.getToAccountId()))) {
+            if (a.getId().equals(r.getFromAccountId())) from = a;
+            else to = a;
+        }
+        if (from == null || to == null) throw new NotFoundException("Account not found");
+        AccountRules.assertActive(from.getStatus());
+        AccountRules.assertActive(to.getStatus());
+
+        long fromBalance = AccountRules.withdraw(from.getType(), from.getBalanceCents(), amount);
+        long toBalance = AccountRules.deposit(to.getBalanceCents(), amount);
+        from.setBalanceCents(fromBalance);
+        to.setBalanceCents(toBalance);
+
+        journalAfterCommit(List.of(
+                JournalEntry.of(from.getId(), JournalEntry.Direction.WITHDRAW, amount, fromBalance),
+                JournalEntry.of(to.getId(), JournalEntry.Direction.DEPOSIT, amount, toBalance)));
+        return TransferResponse.builder().from(cached(toResponse(from))).to(cached(toResponse(to))).build();
+    }
+
+    // ----------------------------
+    // Lotes
+    // ----------------------------
+    /**
+     * Aplica todo el lote en una transacción: bloquea las cuentas involucradas en orden de id,
+     * aplica las reglas en memoria y deja que Hibernate agrupe los UPDATE en un único flush
+     * batcheado (hibernate.jdbc.batch_size) al hacer commit.
+     */
+    @Override
+    public List<BatchOperationResult> applyBatch(List<BatchOperation> operations) {
+        Map<String, Long> idsByNumber = new HashMap<>();
+        Set<String> numbers = new HashSet<>();
+        Set<Long> ids = new HashSet<>();
+        for (BatchOperation op : operations) {
+            if (op.getAccountId() != null) ids.add(op.getAccountId());
+            else if (op.getAccountNumber() != null) numbers.add(op.getAccountNumber());
+        }
+        if (!numbers.isEmpty()) {
+            for (var key : repository.findByAccountNumberIn(numbers)) {
+                idsByNumber.put(key.getAccountNumber(), key.getId());
+                ids.add(key.getId());
             }
-            case CHECKING -> {
-                if (newBalance.compareTo(OVERDRAFT_LIMIT) < 0)
-                    throw new BusinessException("Overdraft limit exceeded (-500)");
+        }
+        Map<Long, Account> accounts = new HashMap<>();
+        if (!ids.isEmpty()) {
+            repository.lockAllByIdOrdered(ids).forEach(a -> accounts.put(a.getId(), a));
+        }
+
+        List<BatchOperationResult> results = new ArrayList<>(operations.size());
+        List<JournalEntry> entries = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BatchOperation op = operations.get(i);
+            try {
+                Long id = op.getAccountId() != null ? op.getAccountId() : idsByNumber.get(op.getAccountNumber());
+                Account a = id == null ? null : accounts.get(id);
+                if (a == null) throw new NotFoundException("Account not found");
+
+                var direction = parseDirection(op.getType());
+                long amount = AccountRules.amountCents(op.getAmount());
+                AccountRules.assertActive(a.getStatus());
+                a.setBalanceCents(direction == JournalEntry.Direction.DEPOSIT
+                        ? AccountRules.deposit(a.getBalanceCents(), amount)
+                        : AccountRules.withdraw(a.getType(), a.getBalanceCents(), amount));
+
+                entries.add(JournalEntry.of(a.getId(), direction, amount, a.getBalanceCents()));
+                results.add(BatchOperationResult.ok(i, cached(toResponse(a))));
+            } catch (BusinessException | NotFoundException ex) {
+                results.add(BatchOperationResult.rejected(i, ex.getMessage()));
             }
         }
-        a.setBalance(newBalance);
-        return toResponse(repository.save(a));
+        journalAfterCommit(entries);
+        return results;
     }
 
+    // Con el índice listo responde sin SQL, también los negativos (supone una sola instancia,
+    // ver ActiveAccountIndex). Sin índice va a BD por idx_accounts_customer_status. SUPPORTS
+    // evita abrir transacción cuando el índice basta.
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public boolean hasActiveAccounts(Long customerId) {
+        if (activeIndex.isReady()) return activeIndex.hasActive(customerId);
         return repository.existsByCustomerIdAndStatus(customerId, Account.Status.ACTIVE);
     }
 
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    public Map<Long, Boolean> hasActiveAccounts(Collection<Long> customerIds) {
+        Map<Long, Boolean> result = new LinkedHashMap<>();
+        if (activeIndex.isReady()) {
+            for (Long id : customerIds) result.put(id, activeIndex.hasActive(id));
+            return result;
+        }
+        for (Long id : customerIds) result.put(id, false);
+        if (!result.isEmpty()) {
+            repository.findCustomerIdsWithStatus(result.keySet(), Account.Status.ACTIVE)
+                    .forEach(id -> result.put(id, true));
+        }
+        return result;
+    }
+
     @Override
     public void delete(Long id) {
-        var acc = repository.findById(id)
-                .orElseThrow(() -> new NotFoundException("Account not found"));
+        var acc = getByIdOrThrow(id);
 
-        if (acc.getBalance() != null && acc.getBalance().signum() != 0) {
+        if (acc.getBalanceCents() != 0) {
             throw new BusinessException("Balance must be zero to delete the account");
         }
         repository.delete(acc);
+        cache.deleted(acc.getId(), acc.getAccountNumber());
+        if (acc.getStatus() == Account.Status.ACTIVE) activeIndex.deactivated(acc.getCustomerId());
+    }
+
+    private Account getByIdOrThrow(Long id) {
+        return repository.findById(id)
+                .orElseThrow(() -> new NotFoundException("Account not found"));
     }
 
     private Account getByAccountNumberOrThrow(String accountNumber) {
@@ -192,9 +370,70 @@ public class AccountServiceImpl implements AccountService {
                 .orElseThrow(() -> new NotFoundException("Account not found"));
     }
 
-    private void assertActive(Account a) {
-        if (a.getStatus() != Account.Status.ACTIVE) {
-            throw new BusinessException("Account is not ACTIVE");
+    private AccountResponse journaled(Account a, JournalEntry.Direction direction, long amount) {
+        journalAfterCommit(List.of(JournalEntry.of(a.getId(), direction, amount, a.getBalanceCents())));
+        return cached(toResponse(a));
+    }
+
+    /**
+     * Registra los movimientos tras el commit: el journal nunca guarda un saldo que la BD no
+     * confirmó (commit fallido, rollback por la fila de idempotencia). Corre en el hilo de la
+     * petición antes de responder, así que la respuesta sigue esperando la durabilidad del
+     * journal. En este modo la BD es la fuente de verdad: si el journal falla se registra el
+     * error, pero el movimiento ya está confirmado y no se revierte.
+     */
+    private void journalAfterCommit(List<JournalEntry> entries) {
+        if (entries.isEmpty()) return;
+        Runnable write = () -> {
+            try {
+                CompletableFuture.allOf(entries.stream().map(journal::record).toArray(CompletableFuture[]::new)).join();
+            } catch (RuntimeException ex) {
+                log.error("Journal write failed for {} committed movements", entries.size(), ex);
+            }
+        };
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            write.run();
+            return;
         }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                write.run();
+            }
+        });
+    }
+
+    /** Snapshot recién escrito: la caché lo publica cuando la transacción hace commit. */
+    private AccountResponse cached(AccountResponse response) {
+        cache.written(response);
+        return response;
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String value, String error) {
+        try {
+            return Enum.valueOf(type, value);
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException(error);
+        }
+    }
+
+    static JournalEntry.Direction parseDirection(String type) {
+        try {
+            return JournalEntry.Direction.valueOf(String.valueOf(type));
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Invalid operation type. Allowed: DEPOSIT, WITHDRAW");
+        }
+    }
+
+    /**
+     * El UPDATE atómico no afectó filas: se relee la cuenta solo para explicar el motivo
+     * (no ACTIVE / sin fondos / saldo fuera de rango). Si las reglas pasan ahora, otra transacción
+     * cambió el saldo entre medias.
+     */
+    private BusinessException rejection(Account a, long amount, boolean withdraw) {
+        AccountRules.assertActive(a.getStatus());
+        if (withdraw) AccountRules.withdraw(a.getType(), a.getBalanceCents(), amount);
+        else AccountRules.deposit(a.getBalanceCents(), amount);
+        return new BusinessException("Account was modified concurrently, retry the operation");
     }
 }
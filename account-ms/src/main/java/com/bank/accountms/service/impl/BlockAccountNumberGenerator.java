@@ -0,0 +1,144 @@
+package com.bank.accountms.service.impl;
+
+import com.bank.accountms.service.AccountNumberGenerator;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Genera números de cuenta a partir de rangos de secuencia reservados por bloques.
+ * <p>
+ * Cada instancia reserva {@code account-number.block-size} valores de una vez en el
+ * {@link BlockAllocator} (compartido entre nodos) y los reparte con un {@code getAndIncrement};
+ * los rangos no se solapan, así que no hay colisiones ni reintentos. El formato es de 16 dígitos:
+ * 15 de secuencia con ceros a la izquierda + dígito verificador Luhn. Sin regex ni substrings:
+ * un único {@code char[]} por número.
+ * <p>
+ * El siguiente bloque se reserva por adelantado en un hilo propio al repartir la mitad del
+ * actual: el alta de cuenta corre dentro de su transacción y reservar ahí abriría una
+ * segunda conexión del pool (REQUIRES_NEW) mientras la primera sigue tomada. Solo si la
+ * reserva anticipada no llegó a tiempo la petición espera por ella.
+ */
+@Component
+public class BlockAccountNumberGenerator implements AccountNumberGenerator {
+
+    public static final int LENGTH = 16;
+    private static final long MAX_SEQUENCE = 999_999_999_999_999L;
+
+    /** Reserva {@code size} valores consecutivos y devuelve el primero. */
+    @FunctionalInterface
+    public interface BlockAllocator {
+        long allocate(int size);
+    }
+
+    private record Block(AtomicLong next, long end, long prefetchAt) {}
+
+    private final BlockAllocator allocator;
+    private final int blockSize;
+    private volatile Block block = new Block(new AtomicLong(), 0, -1);
+    private volatile CompletableFuture<Long> prefetched;
+    private final ExecutorService prefetcher = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "account-number-prefetch");
+        t.setDaemon(true);
+        return t;
+    });
+    // Lock explícito y no synchronized: la recarga hace JDBC y no debe fijar (pin) un hilo virtual.
+    private final ReentrantLock refillLock = new ReentrantLock();
+
+    public BlockAccountNumberGenerator(BlockAllocator allocator,
+                                      @Value("${account-number.block-size:1000}") int blockSize) {
+        this.allocator = allocator;
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public String next() {
+        return format(nextSequence());
+    }
+
+    long nextSequence() {
+        while (true) {
+            Block b = block;
+            long n = b.next().getAndIncrement();
+            if (n < b.end()) {
+                if (n == b.prefetchAt()) prefetch(); // un único hilo recibe este valor
+                return n;
+            }
+            refill(b);
+        }
+    }
+
+    private void prefetch() {
+        prefetched = CompletableFuture.supplyAsync(() -> allocator.allocate(blockSize), prefetcher);
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (block != exhausted) return; // otro hilo ya recargó
+            long start = takePrefetched();
+            block = new Block(new AtomicLong(start), start + blockSize, start + blockSize / 2);
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    /** Bloque reservado por adelantado o, si no lo hay o falló, una reserva en este hilo. */
+    private long takePrefetched() {
+        CompletableFuture<Long> ahead = prefetched;
+        prefetched = null;
+        if (ahead != null) {
+            try {
+                return ahead.join();
+            } catch (RuntimeException ignored) {
+                // se reintenta abajo, en el hilo de la petición
+            }
+        }
+        return allocator.allocate(blockSize);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        prefetcher.shutdown();
+    }
+
+    static String format(long sequence) {
+        if (sequence < 0 || sequence > MAX_SEQUENCE) {
+            throw new IllegalStateException("Account number sequence exhausted");
+        }
+        char[] c = new char[LENGTH];
+        long v = sequence;
+        for (int i = LENGTH - 2; i >= 0; i--) {
+            c[i] = (char) ('0' + (int) (v % 10));
+            v /= 10;
+        }
+        c[LENGTH - 1] = (char) ('0' + luhnCheckDigit(c, LENGTH - 1));
+        return new String(c);
+    }
+
+    public static boolean isValid(String accountNumber) {
+        if (accountNumber == null || accountNumber.length() != LENGTH) return false;
+        char[] c = accountNumber.toCharArray();
+        for (char ch : c) if (ch < '0' || ch > '9') return false;
+        return luhnCheckDigit(c, LENGTH - 1) == c[LENGTH - 1] - '0';
+    }
+
+    private static int luhnCheckDigit(char[] digits, int len) {
+        int sum = 0;
+        for (int i = len - 1, pos = 0; i >= 0; i--, pos++) {
+            int d = digits[i] - '0';
+            if ((pos & 1) == 0) {
+                d *= 2;
+                if (d > 9) d -= 9;
+            }
+            sum += d;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
@@ -0,0 +1,125 @@
+package com.bank.accountms.service.impl;
+
+import com.bank.accountms.service.CustomerClient;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Near-cache de existencia de clientes delante de otro {@link CustomerClient}.
+ * Cachea respuestas positivas y negativas (404) con TTL distintos; los errores no se cachean.
+ * <p>
+ * Al llegar a {@code maxEntries} se recorta de una vez hasta el 90 %: primero los vencidos y
+ * después los de uso más antiguo. Así el recorrido del mapa se paga una vez cada
+ * {@code maxEntries / 10} altas y no en cada miss.
+ */
+public class CachingCustomerClient implements CustomerClient {
+
+    public record Stats(long hits, long misses, long evictions, int size, double hitRate) {}
+
+    private static final class Entry {
+        final boolean exists;
+        final long expiresAt;
+        long lastUsed; // nanoTime, sin sincronizar: solo ordena el recorte
+
+        Entry(boolean exists, long expiresAt, long lastUsed) {
+            this.exists = exists;
+            this.expiresAt = expiresAt;
+            this.lastUsed = lastUsed;
+        }
+    }
+
+    private final CustomerClient delegate;
+    private final long positiveTtlMillis;
+    private final long negativeTtlMillis;
+    private final int maxEntries;
+    private final int lowWaterMark;
+    private final AtomicBoolean trimming = new AtomicBoolean();
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public CachingCustomerClient(CustomerClient delegate, long positiveTtlMillis, long negativeTtlMillis, int maxEntries) {
+        this.delegate = delegate;
+        this.positiveTtlMillis = positiveTtlMillis;
+        this.negativeTtlMillis = negativeTtlMillis;
+        this.maxEntries = maxEntries;
+        this.lowWaterMark = maxEntries - Math.max(1, maxEntries / 10);
+    }
+
+    /** Mismos medidores que AccountCache, con {@code cache=customers}. */
+    public void bindTo(MeterRegistry registry) {
+        Tags tags = Tags.of("cache", "customers");
+        FunctionCounter.builder("cache.gets", hits, LongAdder::sum).tags(tags).tag("result", "hit").register(registry);
+        FunctionCounter.builder("cache.gets", misses, LongAdder::sum).tags(tags).tag("result", "miss").register(registry);
+        FunctionCounter.builder("cache.evictions", evictions, LongAdder::sum).tags(tags).register(registry);
+        Gauge.builder("cache.size", entries, Map::size).tags(tags).register(registry);
+        Gauge.builder("cache.hit.ratio", this, c -> c.stats().hitRate()).tags(tags).register(registry);
+    }
+
+    @Override
+    public CompletableFuture<Boolean> existsCustomer(Long customerId) {
+        Entry e = entries.get(customerId);
+        if (e != null && e.expiresAt > System.currentTimeMillis()) {
+            e.lastUsed = System.nanoTime();
+            hits.increment();
+            return CompletableFuture.completedFuture(e.exists);
+        }
+        misses.increment();
+        return delegate.existsCustomer(customerId).whenComplete((exists, ex) -> {
+            if (ex == null && exists != null) put(customerId, exists);
+        });
+    }
+
+    public void evict(Long customerId) {
+        if (entries.remove(customerId) != null) evictions.increment();
+    }
+
+    public void evictAll() {
+        evictions.add(entries.size());
+        entries.clear();
+    }
+
+    public Stats stats() {
+        long h = hits.sum(), m = misses.sum();
+        return new Stats(h, m, evictions.sum(), entries.size(), h + m == 0 ? 0.0 : (double) h / (h + m));
+    }
+
+    private void put(Long customerId, boolean exists) {
+        long now = System.currentTimeMillis();
+        if (entries.size() >= maxEntries) trim(now);
+        entries.put(customerId, new Entry(exists, now + (exists ? positiveTtlMillis : negativeTtlMillis), System.nanoTime()));
+    }
+
+    /**
+     * Quita vencidos y, si no alcanza, los de uso más antiguo hasta {@code lowWaterMark}.
+     * Un solo hilo recorta; los demás insertan y pueden pasar el límite por unas entradas.
+     */
+    private void trim(long now) {
+        if (!trimming.compareAndSet(false, true)) return;
+        try {
+            entries.values().removeIf(e -> e.expiresAt <= now);
+            long[] used = entries.values().stream().mapToLong(e -> e.lastUsed).toArray();
+            int excess = used.length - lowWaterMark;
+            if (excess <= 0) return;
+            Arrays.sort(used);
+            long cutoff = used[excess - 1];
+            entries.values().removeIf(e -> {
+                if (e.lastUsed > cutoff) return false;
+                evictions.increment();
+                return true;
+            });
+        } finally {
+            trimming.set(false);
+        }
+    }
+}
@@ -1,37 +1,37 @@
 package com.bank.accountms.service.impl;
 
 import com.bank.accountms.service.CustomerClient;
-import lombok.RequiredArgsConstructor;
-import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.util.concurrent.CompletableFuture;
 
 @Component
-@RequiredArgsConstructor
 public class CustomerClientWebClient implements CustomerClient {
 
-    private final WebClient.Builder webClientBuilder;
+    private final WebClient webClient;
 
-    @Value("${customerms.base-url:http://localhost:8081}")
-    private String customerMsBaseUrl;
+    public CustomerClientWebClient(@Qualifier("customerWebClient") WebClient webClient) {
+        this.webClient = webClient;
+    }
 
     @Override
     public CompletableFuture<Boolean> existsCustomer(Long customerId) {
-        return webClientBuilder.build()
+        return webClient
                 .get()
-                .uri(customerMsBaseUrl + "/customers/{id}", customerId)
+                .uri("/customers/{id}", customerId)
                 .retrieve()
                 .toBodilessEntity()
                 .map(resp -> true)                 // 2xx → existe
                 .onErrorResume(WebClientResponseException.class, ex -> {
                     if (ex.getStatusCode() == HttpStatus.NOT_FOUND) {
-                        return reactor.core.publisher.Mono.just(false); // 404 → no existe
+                        return Mono.just(false); // 404 → no existe
                     }
-                    return reactor.core.publisher.Mono.error(ex);       // otros errores → propaga
+                    return Mono.error(ex);       // otros errores → propaga
                 })
                 .toFuture();
     }
@@ -0,0 +1,178 @@
+package com.bank.accountms.service.impl;
+
+import com.bank.accountms.service.CustomerClient;
+import jakarta.annotation.PreDestroy;
+
+import java.util.Arrays;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Hedging de {@code existsCustomer}: si el primer intento no respondió tras el percentil
+ * configurado de la latencia reciente, se lanza un segundo intento idéntico (a la misma
+ * instancia o a otra). Gana la primera respuesta y la otra se cancela.
+ * <p>
+ * Presupuesto: cada petición acumula {@code budgetPercent} créditos y cada hedge consume 100,
+ * así los hedges no superan ese porcentaje del tráfico (con una ráfaga acotada). En una caída
+ * el presupuesto se agota y la carga extra no se dispara.
+ * <p>
+ * Va por encima del circuit breaker y el bulkhead: cada intento pasa por ellos y cuenta
+ * como una llamada, y el que pierde se cancela y libera su permiso.
+ */
+public class HedgingCustomerClient implements CustomerClient {
+
+    public record Stats(long requests, long hedged, long hedgeWins, long budgetDenied, long delayMs) {}
+
+    private static final int WARM_UP_SAMPLES = 100;
+    private static final long CREDITS_PER_HEDGE = 100;
+
+    private final CustomerClient primary;
+    private final CustomerClient secondary;
+    private final double percentile;
+    private final long minDelayMs;
+    private final long initialDelayMs;
+    private final long creditsPerRequest;
+    private final long maxCredits;
+    private final LatencyWindow latencies = new LatencyWindow(512);
+    private final AtomicLong credits;
+    private final ScheduledExecutorService timer;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder hedged = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+    private final LongAdder budgetDenied = new LongAdder();
+
+    public HedgingCustomerClient(CustomerClient primary, CustomerClient secondary, double percentile,
+                                 long minDelayMs, long initialDelayMs, int budgetPercent, int maxBurst) {
+        this.primary = primary;
+        this.secondary = secondary;
+        this.percentile = percentile;
+        this.minDelayMs = minDelayMs;
+        this.initialDelayMs = initialDelayMs;
+        this.creditsPerRequest = budgetPercent;
+        this.maxCredits = CREDITS_PER_HEDGE * maxBurst;
+        this.credits = new AtomicLong(maxCredits);
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "customer-hedge");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> existsCustomer(Long customerId) {
+        requests.increment();
+        credits.updateAndGet(c -> Math.min(maxCredits, c + creditsPerRequest));
+
+        long start = System.nanoTime();
+        CompletableFuture<Boolean> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+
+        CompletableFuture<Boolean> first = primary.existsCustomer(customerId);
+        first.whenComplete((exists, ex) -> {
+            if (ex == null) latencies.record(elapsedMs(start));
+            settle(result, outstanding, exists, ex, false);
+        });
+
+        ScheduledFuture<?> hedgeTask = timer.schedule(
+                () -> hedge(customerId, result, outstanding), delayMs(), TimeUnit.MILLISECONDS);
+
+        result.whenComplete((exists, ex) -> {
+            hedgeTask.cancel(false);
+            if (!first.isDone()) {
+                latencies.record(elapsedMs(start)); // el primario tardó al menos esto
+                first.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    public Stats stats() {
+        return new Stats(requests.sum(), hedged.sum(), hedgeWins.sum(), budgetDenied.sum(), delayMs());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        timer.shutdownNow();
+    }
+
+    private void hedge(Long customerId, CompletableFuture<Boolean> result, AtomicInteger outstanding) {
+        // Solo si el primario sigue en vuelo: si ya falló, el resultado ya quedó resuelto.
+        if (result.isDone() || outstanding.get() == 0) return;
+        if (credits.getAndUpdate(c -> c >= CREDITS_PER_HEDGE ? c - CREDITS_PER_HEDGE : c) < CREDITS_PER_HEDGE) {
+            budgetDenied.increment();
+            return;
+        }
+        if (outstanding.getAndUpdate(n -> n == 0 ? 0 : n + 1) == 0) {
+            credits.updateAndGet(c -> Math.min(maxCredits, c + CREDITS_PER_HEDGE)); // falló entretanto
+            return;
+        }
+        hedged.increment();
+
+        CompletableFuture<Boolean> second = secondary.existsCustomer(customerId);
+        second.whenComplete((exists, ex) -> settle(result, outstanding, exists, ex, true));
+        result.whenComplete((exists, ex) -> second.cancel(true));
+    }
+
+    /**
+     * Gana el primer éxito; solo se falla cuando fallaron todos los intentos lanzados.
+     * La victoria del hedge se cuenta antes de completar: quien espera el resultado ya ve
+     * las estadísticas al día (si el primario ganó primero, se descuenta).
+     */
+    private void settle(CompletableFuture<Boolean> result, AtomicInteger outstanding,
+                        Boolean exists, Throwable ex, boolean fromHedge) {
+        if (ex == null) {
+            if (fromHedge) hedgeWins.increment();
+            if (!result.complete(exists) && fromHedge) hedgeWins.decrement();
+        } else if (outstanding.decrementAndGet() == 0) {
+            result.completeExceptionally(ex);
+        }
+    }
+
+    private long delayMs() {
+        if (latencies.count() < WARM_UP_SAMPLES) return initialDelayMs;
+        return Math.max(minDelayMs, latencies.percentile(percentile));
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    /** Últimas N latencias en un anillo; el percentil se recalcula cada N/8 muestras. */
+    static final class LatencyWindow {
+        private final long[] samples;
+        private final AtomicLong recorded = new AtomicLong();
+        private volatile long cachedPercentile;
+        private volatile double cachedFor = -1;
+        private volatile long cachedAt = -1;
+
+        LatencyWindow(int size) {
+            this.samples = new long[size];
+        }
+
+        void record(long millis) {
+            long n = recorded.getAndIncrement();
+            samples[(int) (n % samples.length)] = millis;
+        }
+
+        long count() {
+            return recorded.get();
+        }
+
+        long percentile(double p) {
+            long n = recorded.get();
+            if (cachedFor == p && n - cachedAt < samples.length / 8) return cachedPercentile;
+            long[] copy = Arrays.copyOf(samples, (int) Math.min(n, samples.length));
+            if (copy.length == 0) return 0;
+            Arrays.sort(copy);
+            int idx = (int) Math.min(copy.length - 1, Math.ceil(p / 100.0 * copy.length) - 1);
+            long value = copy[Math.max(0, idx)];
+            cachedPercentile = value;
+            cachedFor = p;
+            cachedAt = n;
+            return value;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.bank.accountms.service.impl;
+
+import com.bank.accountms.model.AccountNumberSequence;
+import com.bank.accountms.repository.AccountNumberSequenceRepository;
+import jakarta.annotation.PostConstruct;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reserva bloques en la tabla {@code account_number_sequence} con SELECT ... FOR UPDATE,
+ * en una transacción propia para no retener el lock durante el alta de la cuenta.
+ * <p>
+ * Si se invoca dentro de otra transacción, REQUIRES_NEW toma una segunda conexión del pool;
+ * por eso {@link BlockAccountNumberGenerator} la llama desde su hilo de reserva anticipada.
+ */
+@Component
+public class JpaAccountNumberBlockAllocator implements BlockAccountNumberGenerator.BlockAllocator {
+
+    private static final String SEQUENCE = "account_number";
+
+    private final AccountNumberSequenceRepository repository;
+    private final TransactionTemplate tx;
+
+    public JpaAccountNumberBlockAllocator(AccountNumberSequenceRepository repository,
+                                          PlatformTransactionManager txManager) {
+        this.repository = repository;
+        this.tx = new TransactionTemplate(txManager);
+        this.tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    void ensureSequence() {
+        try {
+            tx.executeWithoutResult(s -> {
+                if (!repository.existsById(SEQUENCE)) {
+                    repository.saveAndFlush(new AccountNumberSequence(SEQUENCE, 1L));
+                }
+            });
+        } catch (DataIntegrityViolationException ignored) {
+            // otro nodo la creó al mismo tiempo
+        }
+    }
+
+    @Override
+    public long allocate(int size) {
+        Long start = tx.execute(s -> {
+            var seq = repository.findForUpdate(SEQUENCE)
+                    .orElseThrow(() -> new IllegalStateException("Account number sequence not initialized"));
+            long first = seq.getNextValue();
+            seq.setNextValue(first + size);
+            return first;
+        });
+        return start;
+    }
+}
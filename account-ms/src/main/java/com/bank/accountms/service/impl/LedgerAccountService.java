@@ -0,0 +1,176 @@
+package com.bank.accountms.service.impl;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.service.AccountRules;
+import com.bank.accountms.service.AccountService;
+import com.bank.accountms.service.dto.AccountRequest;
+import com.bank.accountms.service.dto.AccountResponse;
+import com.bank.accountms.service.dto.BatchOperation;
+import com.bank.accountms.service.dto.BatchOperationResult;
+import com.bank.accountms.service.dto.PageResponse;
+import com.bank.accountms.service.dto.TransactionRequest;
+import com.bank.accountms.service.dto.TransferRequest;
+import com.bank.accountms.service.dto.TransferResponse;
+import com.bank.accountms.service.exception.BusinessException;
+import com.bank.accountms.service.exception.NotFoundException;
+import com.bank.accountms.service.journal.JournalEntry;
+import com.bank.accountms.service.ledger.LedgerEngine;
+import com.bank.accountms.service.util.Money;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Service;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * AccountService con el ledger en memoria activado: depósitos, retiros y lecturas por
+ * cuenta pasan por {@link LedgerEngine}; el resto se delega en {@link AccountServiceImpl}.
+ * Los controllers no cambian: reciben este bean por ser {@code @Primary}.
+ */
+@Service
+@Primary
+@ConditionalOnProperty(name = "ledger.engine.enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class LedgerAccountService implements AccountService {
+
+    private final AccountServiceImpl delegate;
+    private final LedgerEngine engine;
+
+    @Override
+    public AccountResponse create(AccountRequest request) {
+        return delegate.create(request);
+    }
+
+    @Override
+    public List<AccountResponse> findAll() {
+        await(engine.flushAll()); // el listado sale de BD: primero bajar saldos pendientes
+        return delegate.findAll();
+    }
+
+    @Override
+    public void exportAll(OutputStream out) {
+        await(engine.flushAll());
+        delegate.exportAll(out);
+    }
+
+    @Override
+    public PageResponse<AccountResponse> findPage(Long customerId, String status, String type, String cursor, int limit) {
+        await(engine.flushAll());
+        return delegate.findPage(customerId, status, type, cursor, limit);
+    }
+
+    @Override
+    public AccountResponse findById(Long id) {
+        return await(engine.find(id));
+    }
+
+    @Override
+    public AccountResponse deposit(Long id, TransactionRequest r) {
+        return await(engine.deposit(id, AccountRules.amountCents(r.getAmount())));
+    }
+
+    @Override
+    public AccountResponse withdraw(Long id, TransactionRequest r) {
+        return await(engine.withdraw(id, AccountRules.amountCents(r.getAmount())));
+    }
+
+    @Override
+    public AccountResponse findByAccountNumber(String accountNumber) {
+        return findById(engine.resolveId(accountNumber));
+    }
+
+    @Override
+    public AccountResponse depositByAccountNumber(String accountNumber, TransactionRequest r) {
+        return deposit(engine.resolveId(accountNumber), r);
+    }
+
+    @Override
+    public AccountResponse withdrawByAccountNumber(String accountNumber, TransactionRequest r) {
+        return withdraw(engine.resolveId(accountNumber), r);
+    }
+
+    /**
+     * En modo ledger las cuentas pueden vivir en shards distintos: se valida el destino,
+     * se debita el origen y, si el crédito falla, se compensa devolviendo el importe.
+     * <p>
+     * Es una transferencia compensada, no atómica: entre el débito y el crédito (o la
+     * compensación) otro lector puede ver el importe fuera de ambas cuentas, y cada paso
+     * queda en el journal como un movimiento independiente.
+     */
+    @Override
+    public TransferResponse transfer(TransferRequest r) {
+        AccountRules.assertTransfer(r.getFromAccountId(), r.getToAccountId(), r.getAmount());
+        long amount = Money.toCents(r.getAmount());
+        AccountRules.assertActive(Account.Status.valueOf(findById(r.getToAccountId()).getStatus()));
+
+        var from = await(engine.withdraw(r.getFromAccountId(), amount));
+        try {
+            var to = await(engine.deposit(r.getToAccountId(), amount));
+            return TransferResponse.builder().from(from).to(to).build();
+        } catch (RuntimeException ex) {
+            await(engine.deposit(r.getFromAccountId(), amount));
+            throw ex;
+        }
+    }
+
+    /** En modo ledger cada operación va a su shard; no hay transacción de BD que agrupar. */
+    @Override
+    public List<BatchOperationResult> applyBatch(List<BatchOperation> operations) {
+        List<CompletableFuture<AccountResponse>> pending = new ArrayList<>(operations.size());
+        for (BatchOperation op : operations) {
+            try {
+                Long id = op.getAccountId() != null ? op.getAccountId() : engine.resolveId(op.getAccountNumber());
+                var direction = AccountServiceImpl.parseDirection(op.getType());
+                long amount = AccountRules.amountCents(op.getAmount());
+                pending.add(direction == JournalEntry.Direction.DEPOSIT
+                        ? engine.deposit(id, amount)
+                        : engine.withdraw(id, amount));
+            } catch (RuntimeException ex) {
+                pending.add(CompletableFuture.failedFuture(ex));
+            }
+        }
+
+        List<BatchOperationResult> results = new ArrayList<>(operations.size());
+        for (int i = 0; i < pending.size(); i++) {
+            try {
+                results.add(BatchOperationResult.ok(i, await(pending.get(i))));
+            } catch (BusinessException | NotFoundException ex) {
+                results.add(BatchOperationResult.rejected(i, ex.getMessage()));
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public boolean hasActiveAccounts(Long customerId) {
+        return delegate.hasActiveAccounts(customerId);
+    }
+
+    @Override
+    public Map<Long, Boolean> hasActiveAccounts(Collection<Long> customerIds) {
+        return delegate.hasActiveAccounts(customerIds);
+    }
+
+    @Override
+    public void delete(Long id) {
+        await(engine.delete(id, () -> delegate.delete(id)));
+    }
+
+    private static <T> T await(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException ce) {
+            if (ce.getCause() instanceof RuntimeException re) {
+                throw re; // NotFound / Business originales del shard
+            }
+            throw ce;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.bank.accountms.service.impl;
+
+import com.bank.accountms.service.CustomerClient;
+import com.bank.accountms.service.util.Resilience;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Circuit breaker + bulkhead hacia customer-ms: con customer-ms caído o lento, las altas de
+ * cuenta fallan al instante en vez de esperar el timeout completo.
+ */
+@RequiredArgsConstructor
+public class ResilientCustomerClient implements CustomerClient {
+
+    private final CustomerClient delegate;
+    private final Resilience resilience;
+
+    @Override
+    public CompletableFuture<Boolean> existsCustomer(Long customerId) {
+        return resilience.call(() -> delegate.existsCustomer(customerId));
+    }
+
+    public Resilience.Stats stats() {
+        return resilience.stats();
+    }
+}
@@ -0,0 +1,26 @@
+package com.bank.accountms.service.impl;
+
+import com.bank.accountms.service.CustomerClient;
+import com.bank.accountms.service.util.SingleFlight;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Altas concurrentes para el mismo cliente comparten una sola llamada a customer-ms.
+ */
+@RequiredArgsConstructor
+public class SingleFlightCustomerClient implements CustomerClient {
+
+    private final CustomerClient delegate;
+    private final SingleFlight<Long, Boolean> flights = new SingleFlight<>();
+
+    @Override
+    public CompletableFuture<Boolean> existsCustomer(Long customerId) {
+        return flights.execute(customerId, delegate::existsCustomer);
+    }
+
+    public SingleFlight.Stats stats() {
+        return flights.stats();
+    }
+}
@@ -0,0 +1,43 @@
+package com.bank.accountms.service.impl;
+
+import com.bank.accountms.service.CustomerClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Timer {@code customer.client.requests} (con histograma) de cada llamada HTTP a customer-ms
+ * (con hedging, cada intento), por resultado. Devuelve el mismo future del delegado para no cortar la cancelación.
+ */
+public class TimedCustomerClient implements CustomerClient {
+
+    private final CustomerClient delegate;
+    private final MeterRegistry registry;
+    private final Timer success;
+    private final Timer error;
+
+    public TimedCustomerClient(CustomerClient delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.success = timer(registry, "success");
+        this.error = timer(registry, "error");
+    }
+
+    @Override
+    public CompletableFuture<Boolean> existsCustomer(Long customerId) {
+        Timer.Sample sample = Timer.start(registry);
+        CompletableFuture<Boolean> call = delegate.existsCustomer(customerId);
+        call.whenComplete((exists, ex) -> sample.stop(ex == null ? success : error));
+        return call;
+    }
+
+    private static Timer timer(MeterRegistry registry, String outcome) {
+        return Timer.builder("customer.client.requests")
+                .description("existsCustomer calls to customer-ms")
+                .tag("operation", "existsCustomer")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,223 @@
+package com.bank.accountms.service.index;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.repository.AccountRepository;
+import com.bank.accountms.service.util.LongIntHashMap;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Índice en memoria customerId -> nº de cuentas ACTIVE, para responder
+ * {@code hasActiveAccounts} (lo consulta customer-ms en cada DELETE) sin ir a la BD.
+ * <p>
+ * Se construye con un único GROUP BY al arrancar, antes de que el servidor web acepte
+ * tráfico, y se mantiene con los altas/bajas del servicio aplicadas tras el commit.
+ * Un hilo de fondo lo compara periódicamente con la BD: una diferencia se corrige solo si
+ * se repite igual en dos pasadas seguidas, para no "reparar" commits que estaban en vuelo.
+ * <p>
+ * Una vez listo responde tanto "sí" como "no" sin SQL. Es local a cada instancia: con varias
+ * réplicas de account-ms cada una ve solo sus propias escrituras y un {@code false} puede
+ * quedar desactualizado hasta {@code active-index.reconcile-interval-seconds} (60 s por
+ * defecto, más una pasada para confirmar la diferencia). Supone una sola instancia; si no,
+ * desactivarlo con {@code active-index.enabled=false} y dejar la consulta al índice
+ * {@code idx_accounts_customer_status}.
+ */
+@Component
+public class ActiveAccountIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(ActiveAccountIndex.class);
+
+    public record Stats(boolean ready, int customers, long reconciliations, long corrections) {}
+
+    private final AccountRepository repository;
+    private final boolean enabled;
+    private final long reconcileIntervalSeconds;
+    private final StampedLock lock = new StampedLock();
+    private final AtomicLong reconciliations = new AtomicLong();
+    private final AtomicLong corrections = new AtomicLong();
+    private LongIntHashMap counts = new LongIntHashMap(16);
+    /** Diferencias vistas en la pasada anterior (customerId -> conteo en BD + 1; 0 = sin diferencia). */
+    private LongIntHashMap suspects = new LongIntHashMap(16);
+    private volatile boolean ready;
+    private ScheduledExecutorService reconciler;
+
+    public ActiveAccountIndex(AccountRepository repository,
+                              MeterRegistry meterRegistry,
+                              @Value("${active-index.enabled:true}") boolean enabled,
+                              @Value("${active-index.reconcile-interval-seconds:60}") long reconcileIntervalSeconds) {
+        this.repository = repository;
+        this.enabled = enabled;
+        this.reconcileIntervalSeconds = reconcileIntervalSeconds;
+        Gauge.builder("active.index.customers", this, i -> i.stats().customers()).register(meterRegistry);
+        Gauge.builder("active.index.corrections", corrections, AtomicLong::get).register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) return;
+        LongIntHashMap loaded = load();
+        long stamp = lock.writeLock();
+        try {
+            counts = loaded;
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        ready = true;
+        log.info("Active account index built for {} customers", loaded.size());
+
+        reconciler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "active-index-reconciler");
+            t.setDaemon(true);
+            return t;
+        });
+        reconciler.scheduleWithFixedDelay(this::reconcileSafely,
+                reconcileIntervalSeconds, reconcileIntervalSeconds, TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (reconciler != null) reconciler.shutdown();
+    }
+
+    /** false si el índice está desactivado o aún no se construyó: el llamador debe ir a la BD. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean hasActive(long customerId) {
+        long stamp = lock.tryOptimisticRead();
+        LongIntHashMap current = counts;
+        // acotado y sin excepciones aunque compita con un resize (ver LongIntHashMap.get);
+        // si hubo escritura, el valor se descarta y se relee con read lock
+        int n = current.get(customerId);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                n = counts.get(customerId);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return n > 0;
+    }
+
+    /** Una cuenta de {@code customerId} pasó a ACTIVE (alta o cambio de estado). */
+    public void activated(long customerId) {
+        afterCommit(() -> add(customerId, 1));
+    }
+
+    /** Una cuenta ACTIVE de {@code customerId} se borró o dejó de estar ACTIVE. */
+    public void deactivated(long customerId) {
+        afterCommit(() -> add(customerId, -1));
+    }
+
+    public Stats stats() {
+        long stamp = lock.readLock();
+        try {
+            return new Stats(ready, counts.size(), reconciliations.get(), corrections.get());
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Compara el índice con la BD. Devuelve cuántas entradas corrigió: solo las que ya
+     * diferían, con el mismo valor en BD, en la pasada anterior.
+     */
+    public int reconcile() {
+        LongIntHashMap db = load();
+        LongIntHashMap current = snapshot();
+        LongIntHashMap seen = new LongIntHashMap(16);
+        LongIntHashMap toFix = new LongIntHashMap(16);
+
+        db.forEach((customerId, expected) -> {
+            if (current.get(customerId) != expected) flag(customerId, expected, seen, toFix);
+        });
+        current.forEach((customerId, actual) -> {
+            if (db.get(customerId) == 0) flag(customerId, 0, seen, toFix);
+        });
+        suspects = seen;
+
+        if (toFix.size() > 0) {
+            long stamp = lock.writeLock();
+            try {
+                toFix.forEach((customerId, expectedPlusOne) -> counts.put(customerId, expectedPlusOne - 1));
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+            corrections.addAndGet(toFix.size());
+            log.warn("Active account index drifted from the database: {} customers corrected", toFix.size());
+        }
+        reconciliations.incrementAndGet();
+        return toFix.size();
+    }
+
+    private void flag(long customerId, int expected, LongIntHashMap seen, LongIntHashMap toFix) {
+        seen.put(customerId, expected + 1);
+        if (suspects.get(customerId) == expected + 1) toFix.put(customerId, expected + 1);
+    }
+
+    private void reconcileSafely() {
+        try {
+            reconcile();
+        } catch (RuntimeException ex) {
+            log.warn("Active account index reconciliation failed", ex);
+        }
+    }
+
+    private LongIntHashMap load() {
+        var rows = repository.countByCustomerWithStatus(Account.Status.ACTIVE);
+        LongIntHashMap loaded = new LongIntHashMap(rows.size());
+        for (var row : rows) loaded.put(row.getCustomerId(), Math.toIntExact(row.getTotal()));
+        return loaded;
+    }
+
+    private LongIntHashMap snapshot() {
+        long stamp = lock.readLock();
+        try {
+            LongIntHashMap copy = new LongIntHashMap(counts.size());
+            counts.forEach(copy::put);
+            return copy;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private void add(long customerId, int delta) {
+        if (!enabled) return;
+        long stamp = lock.writeLock();
+        try {
+            counts.addTo(customerId, delta);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** Si hay transacción, aplica tras el commit (un rollback no toca el índice). */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
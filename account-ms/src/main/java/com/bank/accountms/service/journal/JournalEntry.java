@@ -0,0 +1,16 @@
+package com.bank.accountms.service.journal;
+
+import java.time.Instant;
+
+/**
+ * Movimiento aceptado: cuenta, importe, sentido, saldo resultante (en centavos) y momento.
+ */
+public record JournalEntry(Long accountId, Direction direction, long amount,
+                           long balance, Instant timestamp) {
+
+    public enum Direction { DEPOSIT, WITHDRAW }
+
+    public static JournalEntry of(Long accountId, Direction direction, long amount, long balance) {
+        return new JournalEntry(accountId, direction, amount, balance, Instant.now());
+    }
+}
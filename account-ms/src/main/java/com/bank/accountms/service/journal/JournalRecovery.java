@@ -0,0 +1,87 @@
+package com.bank.accountms.service.journal;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.repository.AccountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Al arrancar, reconstruye los saldos a partir del último movimiento de cada cuenta en el journal.
+ * <p>
+ * Solo en modo ledger (write-behind), donde el journal va por delante de la BD. En modo JPA
+ * la BD es la fuente de verdad y el journal se escribe tras el commit: reproducirlo podría
+ * devolver una cuenta a un saldo anterior.
+ * <p>
+ * Es un {@link SmartLifecycle} de la fase más baja: termina antes de que arranque el servidor
+ * web (y antes del warm-up de AccountCache), así ningún movimiento en vivo queda pisado por
+ * un saldo reproducido.
+ */
+@Component
+@ConditionalOnProperty(name = {"journal.replay-on-startup", "ledger.engine.enabled"}, havingValue = "true")
+public class JournalRecovery implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(JournalRecovery.class);
+
+    private final TransactionJournal journal;
+    private final AccountRepository repository;
+    private final TransactionTemplate tx;
+    private volatile boolean running;
+
+    public JournalRecovery(TransactionJournal journal,
+                           AccountRepository repository,
+                           PlatformTransactionManager txManager) {
+        this.journal = journal;
+        this.repository = repository;
+        this.tx = new TransactionTemplate(txManager);
+    }
+
+    @Override
+    public void start() {
+        replay();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE;
+    }
+
+    /** Devuelve cuántos saldos corrigió. */
+    public int replay() {
+        Map<Long, Long> last = new HashMap<>();
+        journal.replay(e -> last.put(e.accountId(), e.balance()));
+        if (last.isEmpty()) return 0;
+
+        int fixed = tx.execute(status -> {
+            int n = 0;
+            for (Account a : repository.findAllById(last.keySet())) {
+                long balance = last.get(a.getId());
+                if (a.getBalanceCents() != balance) {
+                    a.setBalanceCents(balance);
+                    n++;
+                }
+            }
+            return n;
+        });
+        log.info("Journal replay: {} accounts in journal, {} balances restored", last.size(), fixed);
+        return fixed;
+    }
+}
@@ -0,0 +1,350 @@
+package com.bank.accountms.service.journal;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Journal append-only sobre segmentos mapeados en memoria ({@code journal-000001.log}, ...).
+ * <p>
+ * Formato de registro: {@code [int len][int crc32][payload]}; un {@code len == 0} marca el
+ * final de los datos (el resto del segmento está en ceros). Un registro con CRC inválido
+ * (escritura cortada por un crash) también termina la lectura.
+ * <p>
+ * Group commit: los escritores solo copian bytes al buffer mapeado; un hilo committer hace
+ * un único {@code force()} por grupo y completa a todos los que quedaron cubiertos.
+ * Políticas ({@code journal.fsync}):
+ * <ul>
+ *   <li>ALWAYS: {@link #record} completa tras el fsync que cubre el registro.</li>
+ *   <li>INTERVAL: fsync cada {@code journal.fsync-interval-ms}; {@link #record} no espera.</li>
+ *   <li>NONE: el SO decide cuándo escribir (solo se fuerza al cerrar).</li>
+ * </ul>
+ * <p>
+ * Truncado: {@link #checkpoint} borra los segmentos cuyos registros ya están todos en la BD
+ * (en modo ledger, tras un flush completo). Sin replay al arrancar ({@code journal.replay-on-startup=false},
+ * modo JPA: se escribe tras el commit y nadie lo reproduce) cada rotación descarta los anteriores.
+ */
+@Component
+@ConditionalOnProperty(name = "journal.enabled", havingValue = "true")
+public class MappedTransactionJournal implements TransactionJournal {
+
+    public enum FsyncPolicy { ALWAYS, INTERVAL, NONE }
+
+    private static final Logger log = LoggerFactory.getLogger(MappedTransactionJournal.class);
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+    private static final int HEADER = 8;
+
+    private final Path dir;
+    private final int segmentSize;
+    private final FsyncPolicy policy;
+    private final long fsyncIntervalMs;
+    private final boolean keepForReplay;
+
+    // Estado de escritura: protegido por "this"
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private int segment;
+    private long appended;
+    /** Segmento -> secuencia del primer registro escrito en él por este proceso (los de antes: 1). */
+    private final NavigableMap<Integer, Long> firstSeq = new TreeMap<>();
+
+    // Group commit: protegido por "waiters"
+    private final List<Waiter> waiters = new ArrayList<>();
+    private volatile long durable;
+    private volatile boolean running = true;
+    private final Thread committer;
+
+    private record Waiter(long seq, CompletableFuture<Void> future) {}
+
+    public MappedTransactionJournal(@Value("${journal.dir:${java.io.tmpdir}/account-ms-journal}") String dir,
+                                    @Value("${journal.segment-size-mb:64}") int segmentSizeMb,
+                                    @Value("${journal.fsync:ALWAYS}") FsyncPolicy policy,
+                                    @Value("${journal.fsync-interval-ms:10}") long fsyncIntervalMs,
+                                    @Value("${journal.replay-on-startup:false}") boolean keepForReplay) throws IOException {
+        this.dir = Files.createDirectories(Path.of(dir));
+        long segmentBytes = segmentSizeMb * 1024L * 1024L;
+        if (segmentBytes <= 0 || segmentBytes > Integer.MAX_VALUE) { // un MappedByteBuffer se indexa con int
+            throw new IllegalArgumentException("journal.segment-size-mb must be between 1 and 2047");
+        }
+        this.segmentSize = (int) segmentBytes;
+        this.policy = policy;
+        this.fsyncIntervalMs = fsyncIntervalMs;
+        this.keepForReplay = keepForReplay;
+
+        List<Path> segments = segments();
+        if (segments.isEmpty()) {
+            open(1);
+        } else {
+            segments.forEach(p -> firstSeq.put(indexOf(p), 1L));
+            open(indexOf(segments.get(segments.size() - 1)));
+            buffer.position(scan(buffer, e -> { }));
+        }
+
+        if (policy == FsyncPolicy.NONE) {
+            this.committer = null;
+        } else {
+            this.committer = new Thread(this::commitLoop, "journal-committer");
+            committer.setDaemon(true);
+            committer.start();
+        }
+    }
+
+    @Override
+    public CompletableFuture<Void> record(JournalEntry entry) {
+        byte[] payload = encode(entry);
+        long seq;
+        synchronized (this) {
+            if (buffer.remaining() < HEADER + payload.length + 4) roll();
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            buffer.putInt(payload.length);
+            buffer.putInt((int) crc.getValue());
+            buffer.put(payload);
+            seq = ++appended;
+        }
+        if (policy != FsyncPolicy.ALWAYS) return DONE;
+
+        CompletableFuture<Void> f = new CompletableFuture<>();
+        synchronized (waiters) {
+            if (seq <= durable) return DONE;
+            waiters.add(new Waiter(seq, f));
+            waiters.notifyAll();
+        }
+        return f;
+    }
+
+    @Override
+    public void replay(Consumer<JournalEntry> consumer) {
+        for (Path p : segments()) {
+            try (FileChannel ch = FileChannel.open(p, StandardOpenOption.READ)) {
+                scan(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()), consumer);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read journal segment " + p, e);
+            }
+        }
+    }
+
+    /**
+     * ALWAYS: hasta lo durable, porque el resto aún no se aplicó. Con las otras políticas
+     * {@link #record} completa enseguida y el llamador aplica el movimiento en el mismo paso.
+     */
+    @Override
+    public long mark() {
+        if (policy == FsyncPolicy.ALWAYS) {
+            synchronized (waiters) {
+                return durable;
+            }
+        }
+        synchronized (this) {
+            return appended;
+        }
+    }
+
+    @Override
+    public void checkpoint(long mark) {
+        List<Integer> obsolete;
+        synchronized (this) {
+            obsolete = coveredSegments(mark);
+        }
+        delete(obsolete);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        running = false;
+        if (committer != null) committer.interrupt();
+        synchronized (this) {
+            buffer.force();
+            channel.close();
+        }
+        completeUpTo(appended);
+    }
+
+    // ----------------------------
+    // Group commit
+    // ----------------------------
+    private void commitLoop() {
+        while (running) {
+            try {
+                synchronized (waiters) {
+                    if (policy == FsyncPolicy.ALWAYS) {
+                        while (running && waiters.isEmpty()) waiters.wait();
+                    } else {
+                        waiters.wait(fsyncIntervalMs);
+                    }
+                }
+                forceGroup();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Journal fsync failed", e);
+                failWaiters(e);
+            }
+        }
+    }
+
+    private void forceGroup() {
+        long target;
+        MappedByteBuffer current;
+        synchronized (this) {
+            target = appended;
+            current = buffer;
+        }
+        if (target == durable) return;
+        current.force(); // los segmentos anteriores se forzaron al rotar
+        completeUpTo(target);
+    }
+
+    private void completeUpTo(long target) {
+        synchronized (waiters) {
+            durable = target;
+            waiters.removeIf(w -> {
+                if (w.seq() > target) return false;
+                w.future().complete(null);
+                return true;
+            });
+        }
+    }
+
+    private void failWaiters(Throwable cause) {
+        synchronized (waiters) {
+            waiters.forEach(w -> w.future().completeExceptionally(cause));
+            waiters.clear();
+        }
+    }
+
+    // ----------------------------
+    // Segmentos
+    // ----------------------------
+    private void open(int index) {
+        try {
+            channel = FileChannel.open(segmentPath(index),
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+            segment = index;
+            firstSeq.put(index, appended + 1);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open journal segment " + index, e);
+        }
+    }
+
+    private void roll() {
+        buffer.force();
+        try {
+            channel.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close journal segment " + segment, e);
+        }
+        open(segment + 1);
+        if (!keepForReplay) delete(coveredSegments(appended));
+    }
+
+    /** Segmentos anteriores al actual cuyo último registro es {@code <= mark}; los quita del índice. */
+    private List<Integer> coveredSegments(long mark) {
+        List<Integer> covered = new ArrayList<>();
+        for (var it = firstSeq.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Integer, Long> e = it.next();
+            if (e.getKey() >= segment) break;
+            Map.Entry<Integer, Long> next = firstSeq.higherEntry(e.getKey());
+            if (next.getValue() - 1 > mark) break;
+            covered.add(e.getKey());
+            it.remove();
+        }
+        return covered;
+    }
+
+    private void delete(List<Integer> segments) {
+        for (int index : segments) {
+            try {
+                Files.deleteIfExists(segmentPath(index));
+            } catch (IOException e) {
+                log.warn("Cannot delete journal segment {}", index, e);
+            }
+        }
+        if (!segments.isEmpty()) log.info("Journal checkpoint: {} segments deleted", segments.size());
+    }
+
+    private static int indexOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Integer.parseInt(name.substring("journal-".length(), name.length() - ".log".length()));
+    }
+
+    private Path segmentPath(int index) {
+        return dir.resolve(String.format("journal-%06d.log", index));
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().matches("journal-\\d{6}\\.log"))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list journal directory " + dir, e);
+        }
+    }
+
+    // ----------------------------
+    // Codificación
+    // ----------------------------
+    private static int scan(ByteBuffer buf, Consumer<JournalEntry> consumer) {
+        int pos = 0;
+        CRC32 crc = new CRC32();
+        while (buf.limit() - pos >= HEADER) {
+            int len = buf.getInt(pos);
+            if (len <= 0 || len > buf.limit() - pos - HEADER) break;
+            byte[] payload = new byte[len];
+            buf.get(pos + HEADER, payload);
+            crc.reset();
+            crc.update(payload);
+            if ((int) crc.getValue() != buf.getInt(pos + 4)) break; // registro cortado
+            consumer.accept(decode(ByteBuffer.wrap(payload)));
+            pos += HEADER + len;
+        }
+        return pos;
+    }
+
+    /** accountId, sentido, timestamp, importe y saldo (centavos): campos de ancho fijo. */
+    private static final int RECORD = 8 + 1 + 8 + 8 + 8;
+
+    private static byte[] encode(JournalEntry e) {
+        ByteBuffer b = ByteBuffer.allocate(RECORD);
+        b.putLong(e.accountId());
+        b.put((byte) e.direction().ordinal());
+        b.putLong(e.timestamp().toEpochMilli());
+        b.putLong(e.amount());
+        b.putLong(e.balance());
+        return b.array();
+    }
+
+    private static JournalEntry decode(ByteBuffer b) {
+        long accountId = b.getLong();
+        var direction = JournalEntry.Direction.values()[b.get()];
+        var timestamp = Instant.ofEpochMilli(b.getLong());
+        long amount = b.getLong();
+        long balance = b.getLong();
+        return new JournalEntry(accountId, direction, amount, balance, timestamp);
+    }
+}
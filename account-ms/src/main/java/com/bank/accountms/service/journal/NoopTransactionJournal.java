@@ -0,0 +1,23 @@
+package com.bank.accountms.service.journal;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+@Component
+@ConditionalOnProperty(name = "journal.enabled", havingValue = "false", matchIfMissing = true)
+public class NoopTransactionJournal implements TransactionJournal {
+
+    private static final CompletableFuture<Void> DONE = CompletableFuture.completedFuture(null);
+
+    @Override
+    public CompletableFuture<Void> record(JournalEntry entry) {
+        return DONE;
+    }
+
+    @Override
+    public void replay(Consumer<JournalEntry> consumer) {
+    }
+}
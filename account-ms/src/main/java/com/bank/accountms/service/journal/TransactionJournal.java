@@ -0,0 +1,25 @@
+package com.bank.accountms.service.journal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+public interface TransactionJournal {
+
+    /** Agrega el movimiento; el future completa cuando es durable según la política de fsync. */
+    CompletableFuture<Void> record(JournalEntry entry);
+
+    /** Recorre todos los movimientos registrados, en orden de escritura. */
+    void replay(Consumer<JournalEntry> consumer);
+
+    /**
+     * Posición del último movimiento ya entregado a quien lo aplica: todo lo registrado hasta
+     * aquí está en memoria o en un lote pendiente, nunca solo en el journal.
+     */
+    default long mark() {
+        return 0;
+    }
+
+    /** Los movimientos hasta {@code mark} ya están en la BD: el journal puede descartarlos. */
+    default void checkpoint(long mark) {
+    }
+}
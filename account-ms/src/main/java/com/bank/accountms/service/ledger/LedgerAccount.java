@@ -0,0 +1,47 @@
+package com.bank.accountms.service.ledger;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.service.dto.AccountResponse;
+import com.bank.accountms.service.util.Money;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Estado en memoria de una cuenta dentro de un shard.
+ * Solo lo toca el hilo del shard dueño, por eso no necesita sincronización.
+ */
+final class LedgerAccount {
+    final Long id;
+    final String accountNumber;
+    final Long customerId;
+    final Account.Type type;
+    final Account.Status status;
+    long balance; // centavos, solo movimientos ya durables en el journal
+    /** Último movimiento encolado; el siguiente se aplica cuando este termina. */
+    CompletableFuture<?> tail = CompletableFuture.completedFuture(null);
+
+    LedgerAccount(Account a) {
+        this.id = a.getId();
+        this.accountNumber = a.getAccountNumber();
+        this.customerId = a.getCustomerId();
+        this.type = a.getType();
+        this.status = a.getStatus();
+        this.balance = a.getBalanceCents();
+    }
+
+    /** Sin movimientos esperando al journal: se puede desalojar sin perder nada. */
+    boolean idle() {
+        return tail.isDone();
+    }
+
+    AccountResponse toResponse() {
+        return AccountResponse.builder()
+                .id(id)
+                .accountNumber(accountNumber)
+                .customerId(customerId)
+                .status(status.name())
+                .type(type.name())
+                .balance(Money.toDecimal(balance))
+                .build();
+    }
+}
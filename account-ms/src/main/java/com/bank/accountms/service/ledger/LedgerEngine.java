@@ -0,0 +1,274 @@
+package com.bank.accountms.service.ledger;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.repository.AccountRepository;
+import com.bank.accountms.service.AccountRules;
+import com.bank.accountms.service.dto.AccountResponse;
+import com.bank.accountms.service.exception.BusinessException;
+import com.bank.accountms.service.exception.NotFoundException;
+import com.bank.accountms.service.journal.JournalEntry;
+import com.bank.accountms.service.journal.JournalRecovery;
+import com.bank.accountms.service.journal.TransactionJournal;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Motor de ledger en memoria (modo opcional, {@code ledger.engine.enabled=true}).
+ * <p>
+ * Las cuentas se reparten por id entre N shards de un solo hilo: cada shard aplica
+ * depósitos/retiros y las reglas SAVINGS/CHECKING sobre su copia en memoria sin locks
+ * de BD. Los saldos modificados se persisten por lotes (write-behind) en un único hilo
+ * escritor, que mantiene el orden de los snapshots de cada cuenta. Cada movimiento se
+ * registra antes en el {@link TransactionJournal}, que permite reconstruir lo no persistido.
+ * <p>
+ * Un movimiento se confirma al cliente cuando está en el journal, no en la BD: sin journal
+ * ni replay al arrancar, una caída perdería saldos ya confirmados. Por eso el motor no
+ * arranca sin {@code journal.enabled=true} y {@code journal.replay-on-startup=true}.
+ * <p>
+ * El saldo en memoria y el pendiente de persistir cambian solo cuando el journal confirmó
+ * el movimiento: si la escritura falla, el cliente recibe el error y no queda nada que el
+ * write-behind lleve a la BD, así que reintentar no duplica el movimiento. Los movimientos
+ * de una misma cuenta se encadenan (cada uno valida contra el saldo durable del anterior);
+ * los de cuentas distintas siguen compartiendo el fsync del group commit.
+ * <p>
+ * Cada {@link #flushAll} completo y sin fallos hace checkpoint del journal: lo registrado
+ * antes de empezar ya está en la BD y sus segmentos se pueden borrar. El flush periódico
+ * arranca como {@link SmartLifecycle} justo después de {@link JournalRecovery}: antes de
+ * reproducir, los segmentos de la ejecución anterior no se pueden descartar.
+ */
+@Component
+@ConditionalOnProperty(name = "ledger.engine.enabled", havingValue = "true")
+public class LedgerEngine implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(LedgerEngine.class);
+
+    private final AccountRepository repository;
+    private final TransactionJournal journal;
+    private final TransactionTemplate tx;
+    private final LedgerShard[] shards;
+    private final int batchSize;
+    private final ExecutorService writer;
+    private final ScheduledExecutorService flusher;
+    private final long flushIntervalMs;
+    private final int maxAccountsPerShard;
+    private final Map<String, Long> idsByNumber = new ConcurrentHashMap<>();
+    private final AtomicLong failedFlushes = new AtomicLong();
+    private volatile boolean running;
+
+    public LedgerEngine(AccountRepository repository,
+                        TransactionJournal journal,
+                        PlatformTransactionManager txManager,
+                        @Value("${ledger.engine.shards:0}") int shardCount,
+                        @Value("${ledger.engine.batch-size:500}") int batchSize,
+                        @Value("${ledger.engine.flush-interval-ms:50}") long flushIntervalMs,
+                        @Value("${ledger.engine.max-accounts-per-shard:100000}") int maxAccountsPerShard,
+                        @Value("${journal.enabled:false}") boolean journalEnabled,
+                        @Value("${journal.replay-on-startup:false}") boolean replayOnStartup) {
+        if (!journalEnabled || !replayOnStartup) {
+            throw new IllegalStateException("ledger.engine.enabled=true requires journal.enabled=true and "
+                    + "journal.replay-on-startup=true: balances are acknowledged before they reach the database");
+        }
+        this.repository = repository;
+        this.journal = journal;
+        this.tx = new TransactionTemplate(txManager);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.maxAccountsPerShard = maxAccountsPerShard;
+
+        int n = shardCount > 0 ? shardCount : Runtime.getRuntime().availableProcessors();
+        this.shards = new LedgerShard[n];
+        for (int i = 0; i < n; i++) shards[i] = new LedgerShard(i, maxAccountsPerShard);
+
+        this.writer = Executors.newSingleThreadExecutor(r -> daemon(r, "ledger-writer"));
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> daemon(r, "ledger-flusher"));
+    }
+
+    @Override
+    public void start() {
+        flusher.scheduleWithFixedDelay(this::flushAll, flushIntervalMs, flushIntervalMs, TimeUnit.MILLISECONDS);
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE + 1; // después de JournalRecovery
+    }
+
+    public CompletableFuture<AccountResponse> find(Long id) {
+        LedgerShard shard = shardOf(id);
+        return shard.submit(() -> shard.account(id, repository::findById).toResponse());
+    }
+
+    /** Importes en centavos. */
+    public CompletableFuture<AccountResponse> deposit(Long id, long amount) {
+        LedgerShard shard = shardOf(id);
+        return shard.submit(() -> {
+            LedgerAccount acc = shard.account(id, repository::findById);
+            return sequenced(shard, acc, () -> {
+                AccountRules.assertActive(acc.status);
+                long balance = AccountRules.deposit(acc.balance, amount);
+                return record(shard, acc, JournalEntry.Direction.DEPOSIT, amount, balance);
+            });
+        }).thenCompose(f -> f);
+    }
+
+    public CompletableFuture<AccountResponse> withdraw(Long id, long amount) {
+        LedgerShard shard = shardOf(id);
+        return shard.submit(() -> {
+            LedgerAccount acc = shard.account(id, repository::findById);
+            return sequenced(shard, acc, () -> {
+                AccountRules.assertActive(acc.status);
+                long balance = AccountRules.withdraw(acc.type, acc.balance, amount);
+                return record(shard, acc, JournalEntry.Direction.WITHDRAW, amount, balance);
+            });
+        }).thenCompose(f -> f);
+    }
+
+    /**
+     * Borra la cuenta en el hilo de su shard, detrás de sus movimientos en curso: valida el
+     * saldo en memoria, persiste el saldo pendiente y recién entonces ejecuta el borrado real
+     * ({@code deleteRow}).
+     */
+    public CompletableFuture<Void> delete(Long id, Runnable deleteRow) {
+        LedgerShard shard = shardOf(id);
+        return shard.submit(() -> {
+            Supplier<CompletableFuture<Void>> delete = () -> {
+                shard.loaded(id).ifPresent(acc -> {
+                    if (acc.balance != 0)
+                        throw new BusinessException("Balance must be zero to delete the account");
+                });
+                shard.drain(id).ifPresent(balance -> persist(shard, Map.of(id, balance)).join());
+                deleteRow.run();
+                shard.remove(id);
+                idsByNumber.values().remove(id);
+                return CompletableFuture.completedFuture(null);
+            };
+            return shard.loaded(id).map(acc -> sequenced(shard, acc, delete)).orElseGet(delete);
+        }).thenCompose(f -> f);
+    }
+
+    /**
+     * Resuelve accountNumber -> id (inmutable, se cachea). La consulta va fuera de
+     * computeIfAbsent para no retener el bin del mapa durante un viaje a BD; dos
+     * resoluciones simultáneas del mismo número leen el mismo id.
+     */
+    public Long resolveId(String accountNumber) {
+        Long cached = idsByNumber.get(accountNumber);
+        if (cached != null) return cached;
+        Long id = repository.findByAccountNumber(accountNumber)
+                .map(Account::getId)
+                .orElseThrow(() -> new NotFoundException("Account not found"));
+        if (idsByNumber.size() < (long) maxAccountsPerShard * shards.length) idsByNumber.putIfAbsent(accountNumber, id);
+        return id;
+    }
+
+    /**
+     * Persiste lo pendiente de todos los shards. La marca del journal se toma antes de encolar
+     * los drain: lo aplicado hasta ella va en estos lotes o en lotes anteriores del mismo
+     * escritor, así que si ninguno falló entretanto, todo lo anterior a la marca está en la BD.
+     */
+    public CompletableFuture<Void> flushAll() {
+        long failures = failedFlushes.get();
+        long mark = journal.mark();
+        CompletableFuture<?>[] flushes = Arrays.stream(shards)
+                .map(s -> s.submit(() -> s.drain()).thenCompose(batch -> persist(s, batch)))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(flushes).thenRun(() -> {
+            if (running && failedFlushes.get() == failures) journal.checkpoint(mark);
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flusher.shutdown();
+        try {
+            flushAll().get(10, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.error("Ledger final flush failed", e);
+        }
+        for (LedgerShard s : shards) s.shutdown();
+        writer.shutdown();
+    }
+
+    private LedgerShard shardOf(Long id) {
+        return shards[(int) Math.floorMod(id, (long) shards.length)];
+    }
+
+    /**
+     * Ejecuta {@code step} en el hilo del shard cuando terminó el paso anterior de la cuenta
+     * (bien o mal). Invocar solo desde el hilo del shard.
+     */
+    private static <T> CompletableFuture<T> sequenced(LedgerShard shard, LedgerAccount acc,
+                                                      Supplier<CompletableFuture<T>> step) {
+        CompletableFuture<T> result = acc.idle()
+                ? step.get()
+                : acc.tail.thenComposeAsync(v -> step.get(), shard.executor());
+        acc.tail = result.handle((r, ex) -> null);
+        return result;
+    }
+
+    /** Registra el movimiento y, solo cuando el journal lo hace durable, lo aplica en memoria. */
+    private CompletableFuture<AccountResponse> record(LedgerShard shard, LedgerAccount acc,
+                                                      JournalEntry.Direction direction, long amount, long balance) {
+        CompletableFuture<Void> durable = journal.record(JournalEntry.of(acc.id, direction, amount, balance));
+        if (durable.isDone() && !durable.isCompletedExceptionally()) {
+            return CompletableFuture.completedFuture(apply(shard, acc, balance));
+        }
+        return durable.thenApplyAsync(v -> apply(shard, acc, balance), shard.executor());
+    }
+
+    private AccountResponse apply(LedgerShard shard, LedgerAccount acc, long balance) {
+        acc.balance = balance;
+        shard.markDirty(acc);
+        if (shard.dirtyCount() >= batchSize) persist(shard, shard.drain());
+        return acc.toResponse();
+    }
+
+    private CompletableFuture<Void> persist(LedgerShard shard, Map<Long, Long> batch) {
+        if (batch.isEmpty()) return CompletableFuture.completedFuture(null);
+        return CompletableFuture.runAsync(() -> tx.executeWithoutResult(status -> {
+            for (Account a : repository.findAllById(batch.keySet())) {
+                a.setBalanceCents(batch.get(a.getId()));
+            }
+        }), writer).whenComplete((v, ex) -> {
+            if (ex != null) {
+                log.error("Ledger flush failed for {} accounts, retrying on next cycle", batch.size(), ex);
+            }
+            shard.submit(() -> {
+                shard.flushed(batch.keySet(), ex == null);
+                return null;
+            });
+            // después del re-marcado: un flushAll que ve el contador ya tiene detrás su drain
+            if (ex != null) failedFlushes.incrementAndGet();
+        });
+    }
+
+    private static Thread daemon(Runnable r, String name) {
+        Thread t = new Thread(r, name);
+        t.setDaemon(true);
+        return t;
+    }
+}
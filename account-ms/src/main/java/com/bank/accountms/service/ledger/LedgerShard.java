@@ -0,0 +1,131 @@
+package com.bank.accountms.service.ledger;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.service.exception.NotFoundException;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Partición single-writer del ledger: un hilo propio, sus cuentas en memoria y
+ * los saldos pendientes de persistir. Todo el estado se accede solo desde ese hilo.
+ * <p>
+ * Las cuentas cargadas se acotan a {@code maxAccounts} desalojando las menos usadas, pero
+ * solo si están limpias: una cuenta con saldo pendiente, con un flush en curso o con un
+ * movimiento esperando al journal no se desaloja, porque recargarla de BD devolvería un
+ * saldo viejo.
+ */
+final class LedgerShard {
+
+    private final ExecutorService executor;
+    private final int maxAccounts;
+    private final Map<Long, LedgerAccount> accounts = new LinkedHashMap<>(16, 0.75f, true); // orden de acceso
+    private final Map<Long, Long> dirty = new LinkedHashMap<>();
+    private final Map<Long, Integer> inFlight = new HashMap<>(); // id -> flushes sin terminar
+
+    LedgerShard(int index, int maxAccounts) {
+        this.maxAccounts = maxAccounts;
+        this.executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "ledger-shard-" + index);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+
+    /** Para continuar en el hilo del shard tras una espera (p. ej. el fsync del journal). */
+    Executor executor() {
+        return executor;
+    }
+
+    // ---- Métodos a invocar solo desde el hilo del shard ----
+
+    LedgerAccount account(Long id, Function<Long, Optional<Account>> loader) {
+        LedgerAccount acc = accounts.get(id);
+        if (acc == null) {
+            acc = loader.apply(id)
+                    .map(LedgerAccount::new)
+                    .orElseThrow(() -> new NotFoundException("Account not found"));
+            accounts.put(id, acc);
+            evictClean();
+        }
+        return acc;
+    }
+
+    Optional<LedgerAccount> loaded(Long id) {
+        return Optional.ofNullable(accounts.get(id));
+    }
+
+    void markDirty(LedgerAccount acc) {
+        dirty.put(acc.id, acc.balance);
+    }
+
+    /** Vuelve a marcar cuentas cuyo flush falló, con el saldo en memoria actual. */
+    private void remarkDirty(Iterable<Long> ids) {
+        for (Long id : ids) {
+            LedgerAccount acc = accounts.get(id);
+            if (acc != null) dirty.putIfAbsent(id, acc.balance);
+        }
+    }
+
+    int dirtyCount() {
+        return dirty.size();
+    }
+
+    int loadedCount() {
+        return accounts.size();
+    }
+
+    /** Saca los saldos pendientes; quedan "en curso" hasta que se llame a {@link #flushed}. */
+    Map<Long, Long> drain() {
+        if (dirty.isEmpty()) return Map.of();
+        Map<Long, Long> batch = new LinkedHashMap<>(dirty);
+        dirty.clear();
+        batch.keySet().forEach(id -> inFlight.merge(id, 1, Integer::sum));
+        return batch;
+    }
+
+    Optional<Long> drain(Long id) {
+        Long balance = dirty.remove(id);
+        if (balance != null) inFlight.merge(id, 1, Integer::sum);
+        return Optional.ofNullable(balance);
+    }
+
+    /** Fin de un flush: si falló se vuelven a marcar; en ambos casos la cuenta ya es desalojable. */
+    void flushed(Set<Long> ids, boolean ok) {
+        if (!ok) remarkDirty(ids);
+        for (Long id : ids) inFlight.computeIfPresent(id, (k, n) -> n > 1 ? n - 1 : null);
+        evictClean();
+    }
+
+    void remove(Long id) {
+        accounts.remove(id);
+        dirty.remove(id);
+    }
+
+    private void evictClean() {
+        Iterator<Map.Entry<Long, LedgerAccount>> it = accounts.entrySet().iterator();
+        while (accounts.size() > maxAccounts && it.hasNext()) {
+            Map.Entry<Long, LedgerAccount> e = it.next();
+            Long id = e.getKey();
+            if (!dirty.containsKey(id) && !inFlight.containsKey(id) && e.getValue().idle()) it.remove();
+        }
+    }
+
+    void shutdown() {
+        executor.shutdown();
+    }
+}
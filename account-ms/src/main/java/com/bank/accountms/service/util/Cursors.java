@@ -0,0 +1,34 @@
+package com.bank.accountms.service.util;
+
+import com.bank.accountms.service.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Cursor opaco de paginación por keyset: el último id entregado, en Base64 URL-safe.
+ */
+public final class Cursors {
+    private Cursors() {}
+
+    public static final int MAX_LIMIT = 1000;
+
+    public static String encode(Long lastId) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(Long.toString(lastId).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    /** Devuelve el id a partir del cual continuar (0 si no hay cursor). */
+    public static long decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return 0L;
+        try {
+            return Long.parseLong(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException ex) {
+            throw new BusinessException("Invalid cursor");
+        }
+    }
+
+    public static int clampLimit(int limit) {
+        return Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+}
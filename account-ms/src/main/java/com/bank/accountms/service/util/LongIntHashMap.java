@@ -0,0 +1,133 @@
+package com.bank.accountms.service.util;
+
+import java.util.Arrays;
+
+/**
+ * Mapa {@code long -> int} de direccionamiento abierto (sondeo lineal) sobre arrays primitivos:
+ * sin boxing ni un objeto por entrada. Las entradas que llegan a 0 se eliminan.
+ * No es thread-safe; el llamador sincroniza. {@link Long#MIN_VALUE} está reservado como hueco.
+ * <p>
+ * {@link #get} tolera lecturas optimistas concurrentes con una escritura (p. ej. bajo un
+ * {@code StampedLock} que luego valida): lee los arrays una sola vez, acota el sondeo a la
+ * capacidad y un resize publica las tablas nuevas solo cuando ya están completas. El valor
+ * devuelto en ese caso puede ser incorrecto, pero la llamada siempre termina y no lanza
+ * excepciones (los índices se acotan a los arrays leídos).
+ */
+public final class LongIntHashMap {
+
+    @FunctionalInterface
+    public interface Visitor {
+        void accept(long key, int value);
+    }
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private long[] keys;
+    private int[] values;
+    private int mask;
+    private int size;
+
+    public LongIntHashMap(int expectedSize) {
+        allocate(Integer.highestOneBit(Math.max(16, expectedSize * 2) - 1) << 1);
+    }
+
+    public int get(long key) {
+        checkKey(key);
+        long[] ks = keys;
+        int[] vs = values;
+        int m = ks.length - 1;
+        int i = slot(key, m);
+        for (int probes = 0; probes <= m; probes++, i = (i + 1) & m) {
+            long k = ks[i];
+            if (k == key) return i < vs.length ? vs[i] : 0;
+            if (k == EMPTY) return 0;
+        }
+        return 0;
+    }
+
+    /** Suma {@code delta} al valor de {@code key} y devuelve el nuevo valor (nunca negativo). */
+    public int addTo(long key, int delta) {
+        checkKey(key);
+        int i = slot(key);
+        for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                int v = values[i] + delta;
+                if (v <= 0) {
+                    removeAt(i);
+                    return 0;
+                }
+                values[i] = v;
+                return v;
+            }
+        }
+        if (delta <= 0) return 0;
+        keys[i] = key;
+        values[i] = delta;
+        if (++size > (mask + 1) * 3 / 4) allocate((mask + 1) * 2);
+        return delta;
+    }
+
+    public void put(long key, int value) {
+        addTo(key, value - get(key));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void forEach(Visitor visitor) {
+        for (int i = 0; i <= mask; i++) {
+            if (keys[i] != EMPTY) visitor.accept(keys[i], values[i]);
+        }
+    }
+
+    private int slot(long key) {
+        return slot(key, mask);
+    }
+
+    private static int slot(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    /** Borrado con desplazamiento hacia atrás: no deja lápidas y las búsquedas siguen siendo cortas. */
+    private void removeAt(int hole) {
+        int i = hole;
+        for (int j = (i + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            int ideal = slot(keys[j]);
+            boolean staysPut = i <= j ? (i < ideal && ideal <= j) : (i < ideal || ideal <= j);
+            if (!staysPut) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = EMPTY;
+        values[i] = 0;
+        size--;
+    }
+
+    /** Construye las tablas nuevas en locales y solo al final las publica en los campos. */
+    private void allocate(int capacity) {
+        long[] newKeys = new long[capacity];
+        int[] newValues = new int[capacity];
+        Arrays.fill(newKeys, EMPTY);
+        int newMask = capacity - 1;
+        if (keys != null) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == EMPTY) continue;
+                int j = slot(keys[i], newMask);
+                while (newKeys[j] != EMPTY) j = (j + 1) & newMask;
+                newKeys[j] = keys[i];
+                newValues[j] = values[i];
+            }
+        }
+        values = newValues;
+        keys = newKeys;
+        mask = newMask;
+    }
+
+    private static void checkKey(long key) {
+        if (key == EMPTY) throw new IllegalArgumentException("Reserved key");
+    }
+}
@@ -0,0 +1,45 @@
+package com.bank.accountms.service.util;
+
+import com.bank.accountms.service.exception.BusinessException;
+
+import java.math.BigDecimal;
+
+/**
+ * Importes en unidades menores (centavos) sobre {@code long}: suma y resta con control de
+ * overflow y sin asignar objetos. {@link BigDecimal} solo aparece en el borde JSON
+ * ({@link #toCents} al recibir, {@link #toDecimal} al responder).
+ */
+public final class Money {
+    private Money() {}
+
+    public static final int SCALE = 2;
+
+    /** Centavos exactos de {@code amount}; rechaza más de 2 decimales o valores fuera de rango. */
+    public static long toCents(BigDecimal amount) {
+        try {
+            return amount.movePointRight(SCALE).longValueExact();
+        } catch (ArithmeticException ex) {
+            throw new BusinessException("Amount must have at most 2 decimals and fit the balance range");
+        }
+    }
+
+    public static BigDecimal toDecimal(long cents) {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    public static long add(long a, long b) {
+        long r = a + b;
+        if (((a ^ r) & (b ^ r)) < 0) throw outOfRange();
+        return r;
+    }
+
+    public static long subtract(long a, long b) {
+        long r = a - b;
+        if (((a ^ b) & (a ^ r)) < 0) throw outOfRange();
+        return r;
+    }
+
+    private static BusinessException outOfRange() {
+        return new BusinessException("Balance out of range");
+    }
+}
@@ -0,0 +1,121 @@
+package com.bank.accountms.service.util;
+
+import com.bank.accountms.service.exception.BusinessException;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Circuit breaker (ventana deslizante por conteo, tasas de fallo y de llamadas lentas) más
+ * bulkhead de semáforo alrededor de una llamada asíncrona a otro servicio.
+ * Con el circuito abierto o el bulkhead lleno se falla al instante con {@link BusinessException}.
+ */
+public final class Resilience {
+
+    public record Settings(int windowSize, int minimumCalls, float failureRatePercent,
+                           float slowCallRatePercent, long slowCallMs, long openStateMs,
+                           int halfOpenCalls, int maxConcurrentCalls) {}
+
+    public record Stats(String state, float failureRate, float slowCallRate, int bufferedCalls,
+                        long notPermittedCalls, int bulkheadAvailable, int bulkheadMax) {}
+
+    private final String service;
+    private final CircuitBreaker breaker;
+    private final Bulkhead bulkhead;
+    private final int maxConcurrentCalls;
+
+    public Resilience(String service, Settings s) {
+        this.service = service;
+        this.maxConcurrentCalls = s.maxConcurrentCalls();
+        this.breaker = CircuitBreaker.of(service, CircuitBreakerConfig.custom()
+                .slidingWindowType(CircuitBreakerConfig.SlidingWindowType.COUNT_BASED)
+                .slidingWindowSize(s.windowSize())
+                .minimumNumberOfCalls(s.minimumCalls())
+                .failureRateThreshold(s.failureRatePercent())
+                .slowCallRateThreshold(s.slowCallRatePercent())
+                .slowCallDurationThreshold(Duration.ofMillis(s.slowCallMs()))
+                .waitDurationInOpenState(Duration.ofMillis(s.openStateMs()))
+                .permittedNumberOfCallsInHalfOpenState(s.halfOpenCalls())
+                // saturación local o intento cancelado por quien llama: no son fallos del destino
+                .ignoreExceptions(BulkheadFullException.class, CancellationException.class)
+                .build());
+        this.bulkhead = Bulkhead.of(service, BulkheadConfig.custom()
+                .maxConcurrentCalls(s.maxConcurrentCalls())
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+
+    public <T> CompletableFuture<T> call(Supplier<CompletableFuture<T>> call) {
+        AtomicReference<CompletableFuture<T>> inFlight = new AtomicReference<>();
+        CompletableFuture<T> result = CircuitBreaker.decorateCompletionStage(breaker, Bulkhead.decorateCompletionStage(bulkhead, () -> {
+                    CompletableFuture<T> f = call.get();
+                    inFlight.set(f);
+                    return f;
+                }))
+                .get()
+                .toCompletableFuture()
+                .handle((value, ex) -> {
+                    if (ex == null) return value;
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof CallNotPermittedException) {
+                        throw new BusinessException(service + " unavailable (circuit open)");
+                    }
+                    if (cause instanceof BulkheadFullException) {
+                        throw new BusinessException(service + " busy, too many concurrent calls");
+                    }
+                    throw new CompletionException(cause);
+                });
+        // Cancelar el resultado (p. ej. el intento que pierde un hedge) cancela la llamada real,
+        // que así libera su permiso del bulkhead
+        result.whenComplete((value, ex) -> {
+            CompletableFuture<T> f = inFlight.get();
+            if (result.isCancelled() && f != null) f.cancel(true);
+        });
+        return result;
+    }
+
+    /** Estado del breaker y del bulkhead como gauges, con tag {@code client}. */
+    public void bindTo(MeterRegistry registry, String client) {
+        Gauge.builder("client.circuit.state", breaker, cb -> switch (cb.getState()) {
+                    case CLOSED -> 0;
+                    case OPEN, FORCED_OPEN -> 1;
+                    case HALF_OPEN -> 2;
+                    default -> 3;
+                })
+                .description("Circuit breaker state: 0 closed, 1 open, 2 half-open, 3 other")
+                .tag("client", client).register(registry);
+        Gauge.builder("client.circuit.failure.rate", breaker, cb -> cb.getMetrics().getFailureRate())
+                .tag("client", client).baseUnit("percent").register(registry);
+        Gauge.builder("client.circuit.slow.call.rate", breaker, cb -> cb.getMetrics().getSlowCallRate())
+                .tag("client", client).baseUnit("percent").register(registry);
+        FunctionCounter.builder("client.circuit.not.permitted", breaker, cb -> cb.getMetrics().getNumberOfNotPermittedCalls())
+                .description("Calls rejected while the circuit was open")
+                .tag("client", client).register(registry);
+        Gauge.builder("client.bulkhead.available", bulkhead, b -> b.getMetrics().getAvailableConcurrentCalls())
+                .tag("client", client).register(registry);
+    }
+
+    public CircuitBreaker breaker() {
+        return breaker;
+    }
+
+    public Stats stats() {
+        var m = breaker.getMetrics();
+        return new Stats(breaker.getState().name(), m.getFailureRate(), m.getSlowCallRate(),
+                m.getNumberOfBufferedCalls(), m.getNumberOfNotPermittedCalls(),
+                bulkhead.getMetrics().getAvailableConcurrentCalls(), maxConcurrentCalls);
+    }
+}
@@ -0,0 +1,15 @@
+-- Esquema inicial de account-ms: exactamente el que generaba Hibernate con ddl-auto=update
+-- antes de Flyway. Las bases existentes se marcan como V1 (baseline-on-migrate) y reciben
+-- el resto de migraciones; todo lo nuevo va en V2+.
+-- SQL compatible con MySQL 8 y con H2 en MODE=MySQL.
+
+CREATE TABLE accounts (
+    id             BIGINT                      NOT NULL AUTO_INCREMENT,
+    account_number VARCHAR(20)                 NOT NULL,
+    customer_id    BIGINT                      NOT NULL,
+    type           ENUM('CHECKING', 'SAVINGS') NOT NULL,
+    status         ENUM('ACTIVE', 'INACTIVE')  NOT NULL,
+    balance        DECIMAL(18,2)               NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_account_number UNIQUE (account_number)
+);
@@ -0,0 +1,10 @@
+-- Saldo en unidades menores (centavos) como BIGINT: aritmética entera en la aplicación y
+-- en los UPDATE atómicos. DECIMAL(18,2) * 100 es exacto y entra en un BIGINT.
+
+ALTER TABLE accounts ADD COLUMN balance_cents BIGINT NOT NULL DEFAULT 0;
+
+UPDATE accounts SET balance_cents = balance * 100;
+
+ALTER TABLE accounts ALTER COLUMN balance_cents DROP DEFAULT;
+
+ALTER TABLE accounts DROP COLUMN balance;
@@ -0,0 +1,24 @@
+-- Índice por cliente/estado, secuencia de números de cuenta y registros de idempotencia.
+
+-- existsByCustomerIdAndStatus / findCustomerIdsWithStatus (hasActiveAccounts) y el filtro
+-- por cliente de findPage: el índice cubre la consulta, sin leer la fila.
+CREATE INDEX idx_accounts_customer_status ON accounts (customer_id, status);
+
+CREATE TABLE account_number_sequence (
+    name       VARCHAR(40) NOT NULL,
+    next_value BIGINT      NOT NULL,
+    PRIMARY KEY (name)
+);
+
+-- request_hash: SHA-256 (hex) del cuerpo ligado a cada Idempotency-Key; reusar la clave con
+-- otro cuerpo se rechaza.
+CREATE TABLE idempotency_records (
+    idempotency_key VARCHAR(200)  NOT NULL,
+    request_hash    VARCHAR(64)   NOT NULL,
+    response_json   VARCHAR(4000) NOT NULL,
+    created_at      DATETIME(6)   NOT NULL,
+    PRIMARY KEY (idempotency_key)
+);
+
+-- Purga periódica por antigüedad (deleteCreatedBefore)
+CREATE INDEX idx_idempotency_created_at ON idempotency_records (created_at);
@@ -0,0 +1,150 @@
+package com.bank.accountms;
+
+import com.bank.accountms.service.cache.AccountCache;
+import com.bank.accountms.service.dto.AccountResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para AccountCache
+ * - AAA: Arrange / Act / Assert
+ */
+class AccountCacheTest {
+
+    private final AccountCache cache = new AccountCache(new SimpleMeterRegistry(), true, 100, 60);
+
+    @Test
+    void shouldServeBothKeysFromCache_afterFirstLoad() {
+        // Arrange
+        var loads = new AtomicInteger();
+
+        // Act
+        cache.get(1L, () -> { loads.incrementAndGet(); return account("10.00"); });
+        var byNumber = cache.getByAccountNumber("0001000000000001", () -> { loads.incrementAndGet(); return account("10.00"); });
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertEquals(new BigDecimal("10.00"), byNumber.getBalance());
+        assertEquals(0.5, cache.stats().hitRate());
+    }
+
+    @Test
+    void shouldNotPublishStaleRead_whenWriteHappenedDuringLoad() {
+        // Act: mientras la lectura va a la BD, un depósito escribe el saldo nuevo
+        cache.get(1L, () -> {
+            cache.written(account("25.00"));
+            return account("10.00");
+        });
+        var cached = cache.get(1L, () -> fail("should be cached"));
+
+        // Assert
+        assertEquals(new BigDecimal("25.00"), cached.getBalance());
+    }
+
+    @Test
+    void shouldDropPendingWrite_onRollback() {
+        // Arrange
+        cache.get(1L, () -> account("10.00"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.written(account("25.00"));
+
+            // Act
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        var reloaded = cache.get(1L, () -> account("10.00"));
+
+        // Assert
+        assertEquals(new BigDecimal("10.00"), reloaded.getBalance());
+        assertEquals(2, cache.stats().misses());
+    }
+
+    @Test
+    void shouldNotResurrectDeletedAccount_whenReadLoadedBeforeDelete() {
+        // Act: la lectura cargó la fila antes de que el borrado confirmara
+        cache.get(1L, () -> {
+            cache.deleted(1L, "0001000000000001");
+            return account("0.00");
+        });
+        cache.getByAccountNumber("0001000000000001", () -> account("0.00"));
+        var loads = new AtomicInteger();
+        cache.get(1L, () -> { loads.incrementAndGet(); return account("0.00"); });
+
+        // Assert: ninguna de las lecturas publicó la cuenta borrada
+        assertEquals(1, loads.get());
+        assertEquals(3, cache.stats().misses());
+    }
+
+    @Test
+    void shouldKeepLaterWrite_whenDeleteRollsBack() {
+        // Arrange
+        cache.get(1L, () -> account("0.00"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            cache.deleted(1L, "0001000000000001");
+
+            // Act
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(s -> s.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        cache.written(account("5.00"));
+        var cached = cache.get(1L, () -> fail("should be cached"));
+
+        // Assert
+        assertEquals(new BigDecimal("5.00"), cached.getBalance());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedInOneBatch_whenOverLimit() {
+        // Arrange: 100 cuentas cargadas; las 5 primeras se vuelven a leer
+        for (long id = 1; id <= 100; id++) cache.get(id, account(id));
+        for (long id = 1; id <= 5; id++) cache.get(id, () -> fail("should be cached"));
+
+        // Act: la 101 pasa el límite y recorta hasta 90; las 9 siguientes caben sin recortar
+        for (long id = 101; id <= 110; id++) cache.get(id, account(id));
+
+        // Assert: salieron las 11 de uso más antiguo (6..16), no las recién leídas
+        assertEquals(11, cache.stats().evictions());
+        assertEquals(99, cache.stats().size());
+        cache.get(1L, () -> fail("should be cached"));
+        cache.get(17L, () -> fail("should be cached"));
+        var loads = new AtomicInteger();
+        cache.get(6L, () -> { loads.incrementAndGet(); return account(6L).get(); });
+        assertEquals(1, loads.get());
+    }
+
+    private static Supplier<AccountResponse> account(long id) {
+        return () -> AccountResponse.builder()
+                .id(id)
+                .accountNumber(String.format("0001%012d", id))
+                .customerId(7L)
+                .type("SAVINGS")
+                .status("ACTIVE")
+                .balance(BigDecimal.ZERO)
+                .build();
+    }
+
+    private static AccountResponse account(String balance) {
+        return AccountResponse.builder()
+                .id(1L)
+                .accountNumber("0001000000000001")
+                .customerId(7L)
+                .type("SAVINGS")
+                .status("ACTIVE")
+                .balance(new BigDecimal(balance))
+                .build();
+    }
+}
@@ -0,0 +1,224 @@
+package com.bank.accountms;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.repository.AccountRepository;
+import com.bank.accountms.service.AccountRules;
+import com.bank.accountms.service.AccountService;
+import com.bank.accountms.service.dto.TransactionRequest;
+import com.bank.accountms.service.exception.BusinessException;
+import com.bank.accountms.service.exception.NotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * UPDATE condicionales de depósito/retiro contra la BD real (H2 + Flyway).
+ * - 0 filas afectadas se traduce al motivo correcto (404, no ACTIVE, fondos, sobregiro, rango)
+ * - Cotas exactas: el último centavo permitido pasa, el siguiente no
+ * - Retiros concurrentes nunca rompen el invariante de saldo
+ * - AAA: Arrange / Act / Assert
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:guarded;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000")
+class AccountGuardedUpdateTest {
+
+    private static final AtomicLong NUMBERS = new AtomicLong(System.nanoTime() % 1_000_000_000L);
+
+    @Autowired private AccountService service;
+    @Autowired private AccountRepository repository;
+    @Autowired private TransactionTemplate tx;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAllById(created);
+    }
+
+    @Test
+    void savingsShouldWithdrawWholeBalance_butNotOneCentMore() {
+        // Arrange
+        var a = account(Account.Type.SAVINGS, Account.Status.ACTIVE, 1_000);
+
+        // Act
+        service.withdraw(a.getId(), amount("10.00"));
+        var ex = assertThrows(BusinessException.class, () -> service.withdraw(a.getId(), amount("0.01")));
+
+        // Assert
+        assertEquals("Insufficient funds", ex.getMessage());
+        assertEquals(0, balanceOf(a));
+    }
+
+    @Test
+    void checkingShouldReachOverdraftLimit_butNotGoPastIt() {
+        // Arrange
+        var a = account(Account.Type.CHECKING, Account.Status.ACTIVE, 0);
+
+        // Act
+        service.withdrawByAccountNumber(a.getAccountNumber(), amount("500.00"));
+        var ex = assertThrows(BusinessException.class,
+                () -> service.withdrawByAccountNumber(a.getAccountNumber(), amount("0.01")));
+
+        // Assert
+        assertEquals("Overdraft limit exceeded (-500)", ex.getMessage());
+        assertEquals(AccountRules.OVERDRAFT_LIMIT_CENTS, balanceOf(a));
+    }
+
+    @Test
+    void depositShouldReachMaxBalance_butNotOverflow() {
+        // Arrange
+        var a = account(Account.Type.SAVINGS, Account.Status.ACTIVE, Long.MAX_VALUE - 100);
+
+        // Act
+        service.deposit(a.getId(), amount("1.00"));
+        var ex = assertThrows(BusinessException.class,
+                () -> service.depositByAccountNumber(a.getAccountNumber(), amount("0.01")));
+
+        // Assert
+        assertEquals("Balance out of range", ex.getMessage());
+        assertEquals(Long.MAX_VALUE, balanceOf(a));
+    }
+
+    @Test
+    void shouldRejectInactiveAccount_withoutTouchingBalance() {
+        // Arrange
+        var a = account(Account.Type.SAVINGS, Account.Status.INACTIVE, 1_000);
+
+        // Act
+        var deposit = assertThrows(BusinessException.class, () -> service.deposit(a.getId(), amount("1.00")));
+        var withdraw = assertThrows(BusinessException.class, () -> service.withdraw(a.getId(), amount("1.00")));
+
+        // Assert
+        assertEquals("Account is not ACTIVE", deposit.getMessage());
+        assertEquals("Account is not ACTIVE", withdraw.getMessage());
+        assertEquals(1_000, balanceOf(a));
+    }
+
+    @Test
+    void shouldReportNotFound_whenNoRowMatchesBecauseAccountIsMissing() {
+        // Act + Assert
+        assertThrows(NotFoundException.class, () -> service.withdraw(999_999_999L, amount("1.00")));
+        assertThrows(NotFoundException.class, () -> service.depositByAccountNumber("0000000000000000", amount("1.00")));
+    }
+
+    @Test
+    void repositoryShouldAffectZeroRows_whenGuardFails() {
+        // Arrange
+        var savings = account(Account.Type.SAVINGS, Account.Status.ACTIVE, 500);
+        var checking = account(Account.Type.CHECKING, Account.Status.ACTIVE, 0);
+        var positive = account(Account.Type.SAVINGS, Account.Status.ACTIVE, 1);
+
+        // Act + Assert
+        assertEquals(0, withdraw(savings, 501));
+        assertEquals(1, withdraw(savings, 500));
+        assertEquals(0, withdraw(checking, 50_001));
+        assertEquals(1, withdraw(checking, 50_000));
+        assertEquals(0, (int) tx.execute(s -> repository.depositById(positive.getId(), Long.MAX_VALUE)));
+        assertEquals(1, balanceOf(positive));
+    }
+
+    @Test
+    void concurrentWithdrawalsShouldNeverOverdrawSavings() throws Exception {
+        // Arrange: 100.00 y 32 retiros de 5.00 => exactamente 20 pasan
+        var a = account(Account.Type.SAVINGS, Account.Status.ACTIVE, 10_000);
+        int threads = 32;
+        var ok = new AtomicInteger();
+        var reasons = ConcurrentHashMap.<String>newKeySet();
+        var start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<CompletableFuture<Void>> work = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            work.add(CompletableFuture.runAsync(() -> {
+                try {
+                    start.await();
+                    service.withdraw(a.getId(), amount("5.00"));
+                    ok.incrementAndGet();
+                } catch (BusinessException ex) {
+                    reasons.add(ex.getMessage());
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }, pool));
+        }
+        start.countDown();
+        CompletableFuture.allOf(work.toArray(CompletableFuture[]::new)).join();
+        pool.shutdown();
+
+        // Assert: el saldo solo baja, así que todo rechazo es por fondos
+        assertEquals(20, ok.get());
+        assertEquals(Set.of("Insufficient funds"), reasons);
+        assertEquals(0, balanceOf(a));
+    }
+
+    @Test
+    void concurrentWithdrawalsShouldStopAtOverdraftLimit() throws Exception {
+        // Arrange: CHECKING en 0 y 16 retiros de 100.00 => 5 pasan hasta -500
+        var a = account(Account.Type.CHECKING, Account.Status.ACTIVE, 0);
+        int threads = 16;
+        var ok = new AtomicInteger();
+        var rejected = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+
+        // Act
+        List<CompletableFuture<Void>> work = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            work.add(CompletableFuture.runAsync(() -> {
+                try {
+                    service.withdraw(a.getId(), amount("100.00"));
+                    ok.incrementAndGet();
+                } catch (BusinessException ex) {
+                    rejected.incrementAndGet();
+                }
+            }, pool));
+        }
+        CompletableFuture.allOf(work.toArray(CompletableFuture[]::new)).join();
+        pool.shutdown();
+
+        // Assert
+        assertEquals(5, ok.get());
+        assertEquals(threads - 5, rejected.get());
+        assertEquals(AccountRules.OVERDRAFT_LIMIT_CENTS, balanceOf(a));
+    }
+
+    private Account account(Account.Type type, Account.Status status, long balanceCents) {
+        var saved = repository.save(Account.builder()
+                .accountNumber(String.format("8%015d", NUMBERS.incrementAndGet()))
+                .customerId(1L)
+                .type(type)
+                .status(status)
+                .balanceCents(balanceCents)
+                .build());
+        created.add(saved.getId());
+        return saved;
+    }
+
+    private int withdraw(Account a, long cents) {
+        return tx.execute(s -> repository.withdrawById(a.getId(), cents, AccountRules.checkingMinimumBefore(cents)));
+    }
+
+    private long balanceOf(Account a) {
+        return repository.findById(a.getId()).orElseThrow().getBalanceCents();
+    }
+
+    private static TransactionRequest amount(String value) {
+        return TransactionRequest.builder().amount(new BigDecimal(value)).build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.bank.accountms;
+
+import com.bank.accountms.service.impl.BlockAccountNumberGenerator;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para BlockAccountNumberGenerator
+ * - Varias instancias (nodos) comparten el mismo allocator, como en producción comparten la tabla.
+ * - AAA: Arrange / Act / Assert
+ */
+class AccountNumberGeneratorTest {
+
+    private static final int INSTANCES = 4;
+    private static final int THREADS = 16;
+    private static final int PER_THREAD = 20_000;
+
+    @Test
+    void shouldFormatSequenceWithLuhnCheckDigit() {
+        // Arrange
+        var generator = new BlockAccountNumberGenerator(size -> 1L, 10);
+
+        // Act
+        String first = generator.next();
+
+        // Assert
+        assertEquals("0000000000000018", first);
+        assertTrue(BlockAccountNumberGenerator.isValid(first));
+        assertFalse(BlockAccountNumberGenerator.isValid("0000000000000019"));
+        assertFalse(BlockAccountNumberGenerator.isValid("000000000000001"));
+    }
+
+    @Test
+    void shouldNeverCollide_acrossThreadsAndInstances() throws Exception {
+        // Arrange
+        var sequence = new AtomicLong(1);
+        BlockAccountNumberGenerator.BlockAllocator shared = size -> sequence.getAndAdd(size);
+        List<BlockAccountNumberGenerator> nodes = new ArrayList<>();
+        for (int i = 0; i < INSTANCES; i++) nodes.add(new BlockAccountNumberGenerator(shared, 100));
+
+        Set<String> seen = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> tasks = new ArrayList<>();
+
+        // Act
+        for (int t = 0; t < THREADS; t++) {
+            var node = nodes.get(t % INSTANCES);
+            tasks.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < PER_THREAD; i++) seen.add(node.next());
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : tasks) f.get(60, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        // Assert
+        assertEquals(THREADS * PER_THREAD, seen.size());
+        assertTrue(seen.stream().allMatch(BlockAccountNumberGenerator::isValid));
+    }
+
+    @Test
+    void shouldReserveNextBlocks_offTheCallingThread() {
+        // Arrange: el allocator anota en qué hilo reserva
+        var sequence = new AtomicLong(1);
+        List<String> allocatingThreads = new CopyOnWriteArrayList<>();
+        var generator = new BlockAccountNumberGenerator(size -> {
+            allocatingThreads.add(Thread.currentThread().getName());
+            return sequence.getAndAdd(size);
+        }, 10);
+
+        // Act: 35 números = el primer bloque y tres recargas
+        Set<String> numbers = new HashSet<>();
+        for (int i = 0; i < 35; i++) numbers.add(generator.next());
+
+        // Assert: solo el primer bloque se reservó en el hilo llamador
+        assertEquals(35, numbers.size());
+        assertEquals(Thread.currentThread().getName(), allocatingThreads.get(0));
+        assertTrue(allocatingThreads.size() >= 4);
+        assertTrue(allocatingThreads.subList(1, 4).stream().allMatch("account-number-prefetch"::equals));
+    }
+
+    @Test
+    void shouldReserveInline_whenPrefetchFails() {
+        // Arrange: la reserva anticipada falla una vez
+        var sequence = new AtomicLong(1);
+        var calls = new AtomicLong();
+        var generator = new BlockAccountNumberGenerator(size -> {
+            if (calls.incrementAndGet() == 2) throw new IllegalStateException("db down");
+            return sequence.getAndAdd(size);
+        }, 10);
+
+        // Act
+        Set<String> numbers = new HashSet<>();
+        for (int i = 0; i < 15; i++) numbers.add(generator.next());
+
+        // Assert
+        assertEquals(15, numbers.size());
+    }
+}
@@ -0,0 +1,137 @@
+package com.bank.accountms;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.repository.AccountRepository;
+import com.bank.accountms.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Map.entry;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Planes de ejecución de las consultas de los repositorios sobre el esquema de Flyway
+ * (H2 en MODE=MySQL, la misma URL que la aplicación).
+ * - Cada método se invoca de verdad: se captura el SQL que genera Hibernate y se hace EXPLAIN
+ *   de esa sentencia con sus parámetros ligados (H2 no puede simplificar {@code ? is null}).
+ * - Falla si alguna consulta recorre la tabla completa.
+ * - Falla si se agrega un método de consulta sin su invocación aquí.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SqlCapture.class)
+class AccountQueryPlanTest {
+
+    /** Recorren la tabla entera por diseño: exportación y reconciliación del índice de activas. */
+    private static final Set<String> FULL_READS = Set.of("streamAll", "countByCustomerWithStatus");
+
+    @Autowired private AccountRepository accounts;
+    @Autowired private IdempotencyRecordRepository idempotency;
+    @Autowired private DataSource dataSource;
+    @Autowired private SqlCapture capture;
+
+    /** Una invocación representativa por método de consulta; findPage, una por combinación de filtros. */
+    private Map<String, Runnable> calls() {
+        Map<String, Runnable> calls = new LinkedHashMap<>(Map.ofEntries(
+                entry("existsByCustomerIdAndStatus", () -> accounts.existsByCustomerIdAndStatus(1L, Account.Status.ACTIVE)),
+                entry("findByAccountNumber", () -> accounts.findByAccountNumber("0001000000000001")),
+                entry("findCustomerIdsWithStatus",
+                        () -> accounts.findCustomerIdsWithStatus(List.of(1L, 2L, 3L), Account.Status.ACTIVE)),
+                entry("findByAccountNumberIn",
+                        () -> accounts.findByAccountNumberIn(List.of("0001000000000001", "0001000000000002"))),
+                entry("lockAllByIdOrdered", () -> accounts.lockAllByIdOrdered(List.of(1L, 2L))),
+                entry("depositById", () -> accounts.depositById(1L, 1_000L)),
+                entry("depositByAccountNumber", () -> accounts.depositByAccountNumber("0001000000000001", 1_000L)),
+                entry("withdrawById", () -> accounts.withdrawById(1L, 1_000L, -49_000L)),
+                entry("withdrawByAccountNumber", () -> accounts.withdrawByAccountNumber("0001000000000001", 1_000L, -49_000L)),
+                entry("deleteCreatedBefore", () -> idempotency.deleteCreatedBefore(Instant.parse("2024-01-01T00:00:00Z")))));
+        for (Long customerId : Arrays.asList(null, 1L)) {
+            for (Account.Status status : Arrays.asList(null, Account.Status.ACTIVE)) {
+                for (Account.Type type : Arrays.asList(null, Account.Type.SAVINGS)) {
+                    calls.put(pageCall(customerId, status, type), () -> accounts.findPage(0L, customerId, status, type, 21));
+                }
+            }
+        }
+        return calls;
+    }
+
+    private static String pageCall(Long customerId, Account.Status status, Account.Type type) {
+        return "findPage[customerId=" + customerId + ", status=" + status + ", type=" + type + "]";
+    }
+
+    @Test
+    void everyRepositoryQuery_shouldHaveItsPlanChecked() {
+        // Arrange
+        var declared = Arrays.stream(new Class<?>[]{AccountRepository.class, IdempotencyRecordRepository.class})
+                .flatMap(c -> Arrays.stream(c.getDeclaredMethods()))
+                .filter(m -> !m.isDefault() && !m.isSynthetic())
+                .map(Method::getName)
+                .distinct();
+
+        // Act
+        var missing = declared.filter(n -> !calls().containsKey(n) && !FULL_READS.contains(n)).toList();
+
+        // Assert
+        assertTrue(missing.isEmpty(), "Queries without a plan check: " + missing);
+    }
+
+    @Test
+    void repositoryQueries_shouldNotScanWholeTables() throws SQLException {
+        for (var call : calls().entrySet()) {
+            // Act
+            List<String> plans = plansOf(call.getValue());
+
+            // Assert
+            assertFalse(plans.isEmpty(), call.getKey() + " did not reach the database");
+            for (String plan : plans) {
+                assertFalse(plan.contains("tableScan"), call.getKey() + " does a full scan:\n" + plan);
+            }
+        }
+    }
+
+    @Test
+    void activeAccountLookup_shouldUseCustomerStatusIndex() throws SQLException {
+        // Act
+        List<String> plans = plansOf(calls().get("existsByCustomerIdAndStatus"));
+
+        // Assert
+        assertEquals(1, plans.size());
+        assertTrue(plans.get(0).toUpperCase().contains("IDX_ACCOUNTS_CUSTOMER_STATUS"), plans.get(0));
+    }
+
+    @Test
+    void pageByCustomer_shouldUseCustomerStatusIndex_withAnyOtherFilter() throws SQLException {
+        for (Account.Status status : Arrays.asList(null, Account.Status.ACTIVE)) {
+            for (Account.Type type : Arrays.asList(null, Account.Type.SAVINGS)) {
+                // Act
+                List<String> plans = plansOf(calls().get(pageCall(1L, status, type)));
+
+                // Assert
+                assertEquals(1, plans.size());
+                assertTrue(plans.get(0).toUpperCase().contains("IDX_ACCOUNTS_CUSTOMER_STATUS"), plans.get(0));
+            }
+        }
+    }
+
+    private List<String> plansOf(Runnable call) throws SQLException {
+        capture.clear();
+        call.run();
+        List<String> plans = new ArrayList<>();
+        for (var statement : capture.statements()) plans.add(SqlCapture.explain(dataSource, statement));
+        return plans;
+    }
+}
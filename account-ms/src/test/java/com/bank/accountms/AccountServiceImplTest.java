@@ -0,0 +1,144 @@
+package com.bank.accountms;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.repository.AccountRepository;
+import com.bank.accountms.service.AccountNumberGenerator;
+import com.bank.accountms.service.CustomerClient;
+import com.bank.accountms.service.cache.AccountCache;
+import com.bank.accountms.service.dto.TransactionRequest;
+import com.bank.accountms.service.impl.AccountServiceImpl;
+import com.bank.accountms.service.index.ActiveAccountIndex;
+import com.bank.accountms.service.journal.JournalEntry;
+import com.bank.accountms.service.journal.TransactionJournal;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para AccountServiceImpl
+ * - AAA: Arrange / Act / Assert
+ */
+@ExtendWith(MockitoExtension.class)
+class AccountServiceImplTest {
+
+    @Mock private AccountRepository repository;
+    @Mock private CustomerClient customerClient;
+    @Mock private TransactionJournal journal;
+    @Mock private AccountNumberGenerator accountNumberGenerator;
+    @Mock private EntityManager entityManager;
+    @Mock private ObjectMapper objectMapper;
+    @Mock private ActiveAccountIndex activeIndex;
+    @Mock private AccountCache cache;
+
+    @InjectMocks
+    private AccountServiceImpl service; // SUT
+
+    @AfterEach
+    void clearSynchronization() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldAnswerNegativesFromIndex_withoutQuerying() {
+        // Arrange
+        when(activeIndex.isReady()).thenReturn(true);
+        when(activeIndex.hasActive(5L)).thenReturn(false);
+
+        // Act
+        boolean result = service.hasActiveAccounts(5L);
+
+        // Assert
+        assertFalse(result);
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void shouldQueryDatabase_whenIndexIsNotReady() {
+        // Arrange
+        when(activeIndex.isReady()).thenReturn(false);
+        when(repository.findCustomerIdsWithStatus(Set.of(1L, 2L, 3L), Account.Status.ACTIVE)).thenReturn(List.of(3L));
+
+        // Act
+        Map<Long, Boolean> result = service.hasActiveAccounts(List.of(1L, 2L, 3L));
+
+        // Assert
+        assertEquals(Map.of(1L, false, 2L, false, 3L, true), result);
+        verify(activeIndex, never()).hasActive(anyLong());
+    }
+
+    @Test
+    void shouldJournalDeposit_onlyAfterCommit() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        when(repository.depositById(1L, 1_000L)).thenReturn(1);
+        when(repository.findById(1L)).thenReturn(Optional.of(account(1L, 11_000)));
+        when(journal.record(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        service.deposit(1L, TransactionRequest.builder().amount(new BigDecimal("10.00")).build());
+        verify(journal, never()).record(any());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        // Assert
+        verify(journal).record(argThat(e -> e.accountId() == 1L && e.balance() == 11_000
+                && e.direction() == JournalEntry.Direction.DEPOSIT));
+    }
+
+    @Test
+    void shouldHitDatabaseTwice_perConfirmedWithdraw() {
+        // Arrange
+        when(repository.withdrawByAccountNumber("0001000000000001", 500L, -49_500L)).thenReturn(1);
+        when(repository.findByAccountNumber("0001000000000001")).thenReturn(Optional.of(account(1L, 500)));
+        when(journal.record(any())).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        var response = service.withdrawByAccountNumber("0001000000000001",
+                TransactionRequest.builder().amount(new BigDecimal("5.00")).build());
+
+        // Assert: el UPDATE con las reglas y una sola lectura del saldo resultante
+        assertEquals(new BigDecimal("5.00"), response.getBalance());
+        verify(repository).withdrawByAccountNumber("0001000000000001", 500L, -49_500L);
+        verify(repository).findByAccountNumber("0001000000000001");
+        verifyNoMoreInteractions(repository);
+    }
+
+    @Test
+    void shouldNotJournal_whenTransactionRollsBack() {
+        // Arrange
+        TransactionSynchronizationManager.initSynchronization();
+        when(repository.withdrawById(1L, 500L, -49_500L)).thenReturn(1);
+        when(repository.findById(1L)).thenReturn(Optional.of(account(1L, 500)));
+
+        // Act
+        service.withdraw(1L, TransactionRequest.builder().amount(new BigDecimal("5.00")).build());
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+
+        // Assert
+        verifyNoInteractions(journal);
+    }
+
+    private static Account account(Long id, long balanceCents) {
+        return Account.builder().id(id).accountNumber("0001000000000001").customerId(9L)
+                .type(Account.Type.SAVINGS).status(Account.Status.ACTIVE).balanceCents(balanceCents).build();
+    }
+}
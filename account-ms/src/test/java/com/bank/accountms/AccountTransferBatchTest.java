@@ -0,0 +1,173 @@
+package com.bank.accountms;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.repository.AccountRepository;
+import com.bank.accountms.service.AccountService;
+import com.bank.accountms.service.cache.AccountCache;
+import com.bank.accountms.service.dto.BatchOperation;
+import com.bank.accountms.service.dto.BatchOperationResult;
+import com.bank.accountms.service.dto.TransferRequest;
+import com.bank.accountms.service.exception.BusinessException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Transferencias y lotes contra la BD real (H2 + Flyway): locks ordenados, rechazos por ítem
+ * y rollback.
+ * - BD propia con LOCK_TIMEOUT holgado: un timeout de lock solo puede venir de un deadlock real
+ * - AAA: Arrange / Act / Assert
+ */
+@SpringBootTest(properties =
+        "spring.datasource.url=jdbc:h2:mem:transfers;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;LOCK_TIMEOUT=10000")
+class AccountTransferBatchTest {
+
+    private static final AtomicLong NUMBERS = new AtomicLong(System.nanoTime() % 1_000_000_000L);
+
+    @Autowired private AccountService service;
+    @Autowired private AccountRepository repository;
+    @MockitoSpyBean private AccountCache cache;
+
+    private final List<Long> created = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        repository.deleteAllById(created);
+    }
+
+    @Test
+    void shouldApplyValidItems_andRejectTheRest() {
+        // Arrange
+        var savings = account(Account.Type.SAVINGS, 1_000);
+        var checking = account(Account.Type.CHECKING, 0);
+
+        // Act
+        List<BatchOperationResult> results = service.applyBatch(List.of(
+                op(savings.getId(), null, "DEPOSIT", "5.00"),
+                op(savings.getId(), null, "WITHDRAW", "100.00"),
+                op(null, checking.getAccountNumber(), "WITHDRAW", "100.00"),
+                op(999_999_999L, null, "DEPOSIT", "1.00"),
+                op(savings.getId(), null, "TRANSFER", "1.00")));
+
+        // Assert
+        assertEquals(List.of("OK", "REJECTED", "OK", "REJECTED", "REJECTED"),
+                results.stream().map(BatchOperationResult::getStatus).toList());
+        assertEquals("Insufficient funds", results.get(1).getError());
+        assertEquals("Account not found", results.get(3).getError());
+        assertEquals(1_500, balanceOf(savings));
+        assertEquals(-10_000, balanceOf(checking));
+    }
+
+    @Test
+    void shouldRollBackTheWholeBatch_whenAnItemFailsUnexpectedly() {
+        // Arrange: el segundo ítem falla con un error que no es de negocio
+        var first = account(Account.Type.SAVINGS, 1_000);
+        var second = account(Account.Type.SAVINGS, 1_000);
+        doThrow(new IllegalStateException("boom")).when(cache)
+                .written(argThat(r -> r != null && second.getId().equals(r.getId())));
+
+        // Act
+        assertThrows(IllegalStateException.class, () -> service.applyBatch(List.of(
+                op(first.getId(), null, "DEPOSIT", "5.00"),
+                op(second.getId(), null, "DEPOSIT", "5.00"))));
+
+        // Assert
+        assertEquals(1_000, balanceOf(first));
+        assertEquals(1_000, balanceOf(second));
+    }
+
+    @Test
+    void shouldLeaveBothAccountsUntouched_whenTransferIsRejected() {
+        // Arrange
+        var from = account(Account.Type.SAVINGS, 1_000);
+        var to = account(Account.Type.SAVINGS, 0);
+
+        // Act
+        assertThrows(BusinessException.class, () -> service.transfer(transfer(from, to, "10.01")));
+
+        // Assert
+        assertEquals(1_000, balanceOf(from));
+        assertEquals(0, balanceOf(to));
+    }
+
+    @Test
+    void shouldNotDeadlock_whenOppositeTransfersAndBatchesRunConcurrently() {
+        // Arrange
+        var a = account(Account.Type.SAVINGS, 100_000);
+        var b = account(Account.Type.SAVINGS, 100_000);
+        var failures = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // Act: la mitad de los hilos va A->B y la otra B->A; los lotes nombran las cuentas en orden inverso
+        assertTimeoutPreemptively(Duration.ofSeconds(60), () -> {
+            List<CompletableFuture<Void>> work = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                boolean forward = t % 2 == 0;
+                work.add(CompletableFuture.runAsync(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        try {
+                            if (forward) {
+                                service.transfer(transfer(a, b, "1.00"));
+                            } else {
+                                service.transfer(transfer(b, a, "1.00"));
+                            }
+                            service.applyBatch(List.of(
+                                    op(forward ? b.getId() : a.getId(), null, "WITHDRAW", "1.00"),
+                                    op(forward ? a.getId() : b.getId(), null, "DEPOSIT", "1.00")));
+                        } catch (RuntimeException ex) {
+                            failures.incrementAndGet();
+                        }
+                    }
+                }, pool));
+            }
+            CompletableFuture.allOf(work.toArray(CompletableFuture[]::new)).join();
+        });
+        pool.shutdown();
+
+        // Assert: ni deadlocks ni timeouts de lock, y el dinero se conserva
+        assertEquals(0, failures.get());
+        assertEquals(200_000, balanceOf(a) + balanceOf(b));
+    }
+
+    private Account account(Account.Type type, long balanceCents) {
+        var saved = repository.save(Account.builder()
+                .accountNumber(String.format("9%015d", NUMBERS.incrementAndGet()))
+                .customerId(1L)
+                .type(type)
+                .status(Account.Status.ACTIVE)
+                .balanceCents(balanceCents)
+                .build());
+        created.add(saved.getId());
+        return saved;
+    }
+
+    private long balanceOf(Account a) {
+        return repository.findById(a.getId()).orElseThrow().getBalanceCents();
+    }
+
+    private static BatchOperation op(Long accountId, String accountNumber, String type, String amount) {
+        return BatchOperation.builder().accountId(accountId).accountNumber(accountNumber)
+                .type(type).amount(new BigDecimal(amount)).build();
+    }
+
+    private static TransferRequest transfer(Account from, Account to, String amount) {
+        return TransferRequest.builder().fromAccountId(from.getId()).toAccountId(to.getId())
+                .amount(new BigDecimal(amount)).build();
+    }
+}
@@ -0,0 +1,143 @@
+package com.bank.accountms;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.repository.AccountRepository;
+import com.bank.accountms.service.index.ActiveAccountIndex;
+import com.bank.accountms.service.util.LongIntHashMap;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para ActiveAccountIndex y LongIntHashMap
+ * - AAA: Arrange / Act / Assert
+ */
+class ActiveAccountIndexTest {
+
+    private record Row(Long getCustomerId, Long getTotal) implements AccountRepository.CustomerCount {}
+
+    @Test
+    void shouldAnswerFromMemory_afterStartupAndUpdates() {
+        // Arrange
+        var repository = mock(AccountRepository.class);
+        when(repository.countByCustomerWithStatus(Account.Status.ACTIVE)).thenReturn(List.of(new Row(1L, 1L)));
+        var index = new ActiveAccountIndex(repository, new SimpleMeterRegistry(), true, 3600);
+        index.start();
+
+        // Act
+        index.activated(2L);
+        index.deactivated(1L);
+
+        // Assert
+        assertTrue(index.isReady());
+        assertFalse(index.hasActive(1L));
+        assertTrue(index.hasActive(2L));
+        verify(repository, times(1)).countByCustomerWithStatus(Account.Status.ACTIVE);
+    }
+
+    @Test
+    void shouldCorrectDrift_onlyWhenSeenOnTwoPasses() {
+        // Arrange: la BD tiene una cuenta activa del cliente 7 que el índice no conoce
+        var repository = mock(AccountRepository.class);
+        when(repository.countByCustomerWithStatus(Account.Status.ACTIVE))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new Row(7L, 1L)));
+        var index = new ActiveAccountIndex(repository, new SimpleMeterRegistry(), true, 3600);
+        index.start();
+
+        // Act
+        int firstPass = index.reconcile();
+        int secondPass = index.reconcile();
+
+        // Assert
+        assertEquals(0, firstPass);
+        assertEquals(1, secondPass);
+        assertTrue(index.hasActive(7L));
+        assertEquals(1, index.stats().corrections());
+    }
+
+    @Test
+    void longIntHashMapShouldMatchHashMap_underRandomUpdates() {
+        // Arrange
+        var map = new LongIntHashMap(4);
+        var reference = new HashMap<Long, Integer>();
+        var random = new Random(42);
+
+        // Act
+        for (int i = 0; i < 50_000; i++) {
+            long key = random.nextInt(500);
+            int delta = random.nextBoolean() ? 1 : -1;
+            map.addTo(key, delta);
+            int next = reference.getOrDefault(key, 0) + delta;
+            if (next > 0) reference.put(key, next); else reference.remove(key);
+        }
+
+        // Assert
+        assertEquals(reference.size(), map.size());
+        for (Map.Entry<Long, Integer> e : reference.entrySet()) assertEquals(e.getValue(), map.get(e.getKey()));
+    }
+
+    @Test
+    void shouldKeepAnswering_whileTheMapResizes() {
+        // Arrange: el cliente 1 está activo; otro hilo da de alta miles de clientes (varios resizes)
+        var repository = mock(AccountRepository.class);
+        when(repository.countByCustomerWithStatus(Account.Status.ACTIVE)).thenReturn(List.of(new Row(1L, 1L)));
+        var index = new ActiveAccountIndex(repository, new SimpleMeterRegistry(), true, 3600);
+        index.start();
+        var done = new AtomicBoolean();
+        var wrong = new AtomicInteger();
+
+        // Act
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            var readers = new CompletableFuture<?>[4];
+            for (int r = 0; r < readers.length; r++) {
+                readers[r] = CompletableFuture.runAsync(() -> {
+                    while (!done.get()) if (!index.hasActive(1L)) wrong.incrementAndGet();
+                });
+            }
+            for (long customerId = 2; customerId < 200_000; customerId++) index.activated(customerId);
+            done.set(true);
+            CompletableFuture.allOf(readers).join();
+        });
+
+        // Assert
+        assertEquals(0, wrong.get());
+        assertEquals(199_999, index.stats().customers());
+    }
+
+    @Test
+    void longIntHashMapGetShouldTerminate_whenRacingAnUnsynchronizedResize() {
+        // Arrange: sin lock a propósito, como una lectura optimista antes de validar
+        var map = new LongIntHashMap(4);
+        var done = new AtomicBoolean();
+
+        // Act + Assert: el sondeo acotado siempre devuelve, aunque el valor pueda ser incorrecto
+        assertTimeoutPreemptively(Duration.ofSeconds(30), () -> {
+            var reader = CompletableFuture.runAsync(() -> {
+                var random = new Random(7);
+                while (!done.get()) {
+                    try {
+                        map.get(random.nextInt(1_000_000));
+                    } catch (RuntimeException ignored) {
+                        // índice fuera de rango con tablas a medio publicar: aceptable, no un bucle
+                    }
+                }
+            });
+            for (long key = 0; key < 1_000_000; key++) map.addTo(key, 1);
+            done.set(true);
+            reader.join();
+        });
+        assertEquals(1_000_000, map.size());
+    }
+}
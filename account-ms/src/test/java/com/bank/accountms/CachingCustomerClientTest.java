@@ -0,0 +1,57 @@
+package com.bank.accountms;
+
+import com.bank.accountms.service.impl.CachingCustomerClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para CachingCustomerClient
+ * - AAA: Arrange / Act / Assert
+ */
+class CachingCustomerClientTest {
+
+    @Test
+    void shouldExposeHitsMissesAndSize_inMicrometer() {
+        // Arrange
+        var registry = new SimpleMeterRegistry();
+        var client = new CachingCustomerClient(id -> CompletableFuture.completedFuture(id != 404L), 60_000, 60_000, 100);
+        client.bindTo(registry);
+
+        // Act
+        client.existsCustomer(1L).join();
+        client.existsCustomer(1L).join();
+        client.existsCustomer(404L).join();
+
+        // Assert
+        assertEquals(1.0, registry.get("cache.gets").tags("cache", "customers", "result", "hit").functionCounter().count());
+        assertEquals(2.0, registry.get("cache.gets").tags("cache", "customers", "result", "miss").functionCounter().count());
+        assertEquals(2.0, registry.get("cache.size").tags("cache", "customers").gauge().value());
+    }
+
+    @Test
+    void shouldEvictLeastRecentlyUsedInOneBatch_whenFull() {
+        // Arrange: 100 entradas; las 5 primeras se vuelven a consultar
+        var registry = new SimpleMeterRegistry();
+        var client = new CachingCustomerClient(id -> CompletableFuture.completedFuture(true), 60_000, 60_000, 100);
+        client.bindTo(registry);
+        for (long id = 1; id <= 100; id++) client.existsCustomer(id).join();
+        for (long id = 1; id <= 5; id++) client.existsCustomer(id).join();
+
+        // Act: la 101 recorta hasta 90; las 9 siguientes ya caben sin recortar
+        for (long id = 101; id <= 110; id++) client.existsCustomer(id).join();
+
+        // Assert: salieron las 10 de uso más antiguo (6..15), no las recién usadas
+        assertEquals(10, client.stats().evictions());
+        assertEquals(100, client.stats().size());
+        long hitsBefore = client.stats().hits();
+        client.existsCustomer(1L).join();
+        client.existsCustomer(16L).join();
+        assertEquals(hitsBefore + 2, client.stats().hits());
+        client.existsCustomer(6L).join();
+        assertEquals(hitsBefore + 2, client.stats().hits());
+    }
+}
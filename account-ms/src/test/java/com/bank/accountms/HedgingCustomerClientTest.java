@@ -0,0 +1,79 @@
+package com.bank.accountms;
+
+import com.bank.accountms.service.impl.HedgingCustomerClient;
+import com.bank.accountms.service.impl.ResilientCustomerClient;
+import com.bank.accountms.service.util.Resilience;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para HedgingCustomerClient
+ * - AAA: Arrange / Act / Assert
+ */
+class HedgingCustomerClientTest {
+
+    @Test
+    void shouldUseHedgeAndCancelPrimary_whenPrimaryIsSlow() throws Exception {
+        // Arrange
+        var slow = new CompletableFuture<Boolean>();
+        var client = new HedgingCustomerClient(id -> slow, id -> CompletableFuture.completedFuture(true),
+                95, 1, 10, 10, 10);
+
+        // Act
+        boolean exists = client.existsCustomer(1L).get(2, TimeUnit.SECONDS);
+
+        // Assert
+        assertTrue(exists);
+        assertTrue(slow.isCancelled());
+        assertEquals(1, client.stats().hedged());
+        assertEquals(1, client.stats().hedgeWins());
+    }
+
+    @Test
+    void shouldNotHedge_whenBudgetIsExhausted() throws Exception {
+        // Arrange: sin ráfaga ni créditos por petición no hay presupuesto para hedges
+        var primary = new CompletableFuture<Boolean>();
+        var client = new HedgingCustomerClient(id -> primary, id -> CompletableFuture.completedFuture(true),
+                95, 1, 10, 0, 0);
+
+        // Act
+        var result = client.existsCustomer(1L);
+        Thread.sleep(100);
+        primary.complete(false);
+
+        // Assert
+        assertFalse(result.get(2, TimeUnit.SECONDS));
+        assertEquals(0, client.stats().hedged());
+        assertEquals(1, client.stats().budgetDenied());
+    }
+
+    @Test
+    void shouldPassEachAttemptThroughTheBulkhead_andReleaseTheLoser() throws Exception {
+        // Arrange: hedging por encima del breaker/bulkhead, como en CustomerClientConfig
+        var resilience = new Resilience("Customer service", new Resilience.Settings(50, 20, 50, 80, 1000, 10_000, 5, 2));
+        var slow = new CompletableFuture<Boolean>();
+        var busyDuringHedge = new AtomicInteger();
+        var primary = new ResilientCustomerClient(id -> slow, resilience);
+        var secondary = new ResilientCustomerClient(id -> {
+            busyDuringHedge.set(resilience.stats().bulkheadMax() - resilience.stats().bulkheadAvailable());
+            return CompletableFuture.completedFuture(true);
+        }, resilience);
+        var client = new HedgingCustomerClient(primary, secondary, 95, 1, 10, 10, 10);
+
+        // Act
+        boolean exists = client.existsCustomer(1L).get(2, TimeUnit.SECONDS);
+
+        // Assert: durante el hedge hay dos permisos tomados (primario + hedge) y la cancelación
+        // del perdedor llegó a la llamada real
+        assertTrue(exists);
+        assertEquals(2, busyDuringHedge.get());
+        assertTrue(slow.isCancelled());
+        assertEquals(2, resilience.stats().bulkheadAvailable());
+        assertEquals("CLOSED", resilience.stats().state());
+    }
+}
@@ -0,0 +1,167 @@
+package com.bank.accountms;
+
+import com.bank.accountms.model.IdempotencyRecord;
+import com.bank.accountms.repository.IdempotencyRecordRepository;
+import com.bank.accountms.service.dto.TransactionRequest;
+import com.bank.accountms.service.exception.BusinessException;
+import com.bank.accountms.service.idempotency.IdempotencyCache;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para IdempotencyCache
+ * - AAA: Arrange / Act / Assert
+ */
+class IdempotencyCacheTest {
+
+    private final IdempotencyRecordRepository repository = mock(IdempotencyRecordRepository.class);
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void shouldReplayFirstResponse_whenKeyAndBodyRepeat() {
+        // Arrange
+        var cache = cache(100);
+        var runs = new AtomicInteger();
+
+        // Act
+        String first = cache.execute("deposit:id:1", "k1", amount("10.00"), String.class, () -> "ok-" + runs.incrementAndGet());
+        String replay = cache.execute("deposit:id:1", "k1", amount("10.00"), String.class, () -> "ok-" + runs.incrementAndGet());
+
+        // Assert
+        assertEquals("ok-1", first);
+        assertEquals("ok-1", replay);
+        assertEquals(1, runs.get());
+        verify(repository, times(1)).save(any(IdempotencyRecord.class));
+    }
+
+    @Test
+    void shouldRejectReusedKey_whenBodyDiffers() {
+        // Arrange
+        var cache = cache(100);
+        cache.execute("deposit:id:1", "k1", amount("10.00"), String.class, () -> "ok");
+
+        // Act + Assert
+        var ex = assertThrows(BusinessException.class,
+                () -> cache.execute("deposit:id:1", "k1", amount("99.00"), String.class, () -> "again"));
+        assertTrue(ex.getMessage().contains("different request"));
+    }
+
+    @Test
+    void shouldRejectReusedKey_whenStoredRecordHasAnotherBody() {
+        // Arrange: tras un reinicio la respuesta solo está en la tabla
+        var original = cache(100);
+        original.execute("deposit:id:1", "k1", amount("10.00"), String.class, () -> "ok");
+        var saved = ArgumentCaptor.forClass(IdempotencyRecord.class);
+        verify(repository).save(saved.capture());
+        when(repository.findById("deposit:id:1:k1")).thenReturn(Optional.of(saved.getValue()));
+        var restarted = cache(100);
+
+        // Act
+        String replay = restarted.execute("deposit:id:1", "k1", amount("10.00"), String.class, () -> "again");
+
+        // Assert
+        assertEquals("ok", replay);
+        assertTrue(saved.getValue().isNew());
+        assertThrows(BusinessException.class,
+                () -> cache(100).execute("deposit:id:1", "k1", amount("1.00"), String.class, () -> "again"));
+    }
+
+    @Test
+    void shouldRunOnce_whenDuplicatesArriveConcurrently() throws Exception {
+        // Arrange: la primera ejecución queda bloqueada hasta que llega el duplicado
+        var cache = cache(100);
+        var runs = new AtomicInteger();
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        // Act
+        var first = CompletableFuture.supplyAsync(() -> cache.execute("withdraw:id:1", "k2", amount("5.00"), String.class, () -> {
+            runs.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "done";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        var duplicate = CompletableFuture.supplyAsync(() ->
+                cache.execute("withdraw:id:1", "k2", amount("5.00"), String.class, () -> "dup-" + runs.incrementAndGet()));
+        release.countDown();
+
+        // Assert
+        assertEquals("done", first.get(5, TimeUnit.SECONDS));
+        assertEquals("done", duplicate.get(5, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+    }
+
+    @Test
+    void shouldNotCacheFailures_soTheClientCanRetry() {
+        // Arrange
+        var cache = cache(100);
+
+        // Act
+        assertThrows(BusinessException.class, () -> cache.execute("withdraw:id:1", "k3", amount("5.00"), String.class, () -> {
+            throw new BusinessException("Insufficient funds");
+        }));
+        String retry = cache.execute("withdraw:id:1", "k3", amount("5.00"), String.class, () -> "ok");
+
+        // Assert
+        assertEquals("ok", retry);
+    }
+
+    @Test
+    void shouldEvictCompletedEntries_andRejectWhenAllAreInFlight() throws Exception {
+        // Arrange: tope de 2 entradas
+        var cache = cache(2);
+        cache.execute("deposit:id:1", "a", amount("1.00"), String.class, () -> "a");
+        cache.execute("deposit:id:1", "b", amount("1.00"), String.class, () -> "b");
+
+        // Act: "c" expulsa a "a" (terminada); con "c" y "d" en vuelo ya no queda sitio para "e"
+        var started = new CountDownLatch(2);
+        var release = new CountDownLatch(1);
+        var c = CompletableFuture.supplyAsync(() -> cache.execute("deposit:id:1", "c", amount("1.00"), String.class, () -> {
+            started.countDown();
+            await(release);
+            return "c";
+        }));
+        var d = CompletableFuture.supplyAsync(() -> cache.execute("deposit:id:1", "d", amount("1.00"), String.class, () -> {
+            started.countDown();
+            await(release);
+            return "d";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        // Assert
+        assertThrows(BusinessException.class,
+                () -> cache.execute("deposit:id:1", "e", amount("1.00"), String.class, () -> "e"));
+        release.countDown();
+        assertEquals("c", c.get(5, TimeUnit.SECONDS));
+        assertEquals("d", d.get(5, TimeUnit.SECONDS));
+    }
+
+    private IdempotencyCache cache(int maxEntries) {
+        return new IdempotencyCache(repository, objectMapper, mock(PlatformTransactionManager.class), maxEntries, 600, 24);
+    }
+
+    private static TransactionRequest amount(String value) {
+        return TransactionRequest.builder().amount(new BigDecimal(value)).build();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
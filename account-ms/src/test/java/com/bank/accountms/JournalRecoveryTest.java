@@ -0,0 +1,75 @@
+package com.bank.accountms;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.repository.AccountRepository;
+import com.bank.accountms.service.journal.JournalEntry;
+import com.bank.accountms.service.journal.JournalRecovery;
+import com.bank.accountms.service.journal.TransactionJournal;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para JournalRecovery
+ * - AAA: Arrange / Act / Assert
+ */
+class JournalRecoveryTest {
+
+    @Test
+    void shouldRestoreLastJournaledBalance_beforeAcceptingTraffic() {
+        // Arrange: la cuenta 1 se movió dos veces; la BD (write-behind) solo tiene el primer saldo
+        TransactionJournal journal = journalOf(
+                JournalEntry.of(1L, JournalEntry.Direction.DEPOSIT, 500, 1_500),
+                JournalEntry.of(2L, JournalEntry.Direction.DEPOSIT, 100, 100),
+                JournalEntry.of(1L, JournalEntry.Direction.WITHDRAW, 200, 1_300));
+        var one = Account.builder().id(1L).balanceCents(1_500).build();
+        var two = Account.builder().id(2L).balanceCents(100).build();
+        var repository = mock(AccountRepository.class);
+        when(repository.findAllById(anyIterable())).thenReturn(List.of(one, two));
+        var recovery = new JournalRecovery(journal, repository, mock(PlatformTransactionManager.class));
+
+        // Act
+        recovery.start();
+
+        // Assert
+        assertTrue(recovery.isRunning());
+        assertEquals(1_300, one.getBalanceCents());
+        assertEquals(100, two.getBalanceCents());
+        assertEquals(Integer.MIN_VALUE, recovery.getPhase());
+    }
+
+    @Test
+    void shouldSkipTheDatabase_whenJournalIsEmpty() {
+        // Arrange
+        var repository = mock(AccountRepository.class);
+        var recovery = new JournalRecovery(journalOf(), repository, mock(PlatformTransactionManager.class));
+
+        // Act
+        int fixed = recovery.replay();
+
+        // Assert
+        assertEquals(0, fixed);
+        verifyNoInteractions(repository);
+    }
+
+    private static TransactionJournal journalOf(JournalEntry... entries) {
+        return new TransactionJournal() {
+            @Override
+            public CompletableFuture<Void> record(JournalEntry entry) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            public void replay(Consumer<JournalEntry> consumer) {
+                for (JournalEntry e : entries) consumer.accept(e);
+            }
+        };
+    }
+}
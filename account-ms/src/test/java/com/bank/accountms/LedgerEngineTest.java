@@ -0,0 +1,216 @@
+package com.bank.accountms;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.repository.AccountRepository;
+import com.bank.accountms.service.dto.AccountResponse;
+import com.bank.accountms.service.exception.BusinessException;
+import com.bank.accountms.service.exception.NotFoundException;
+import com.bank.accountms.service.journal.TransactionJournal;
+import com.bank.accountms.service.ledger.LedgerEngine;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para LedgerEngine (modo ledger): orden por shard, persistencia write-behind,
+ * aplicación solo tras el journal, desalojo acotado y resolución de números de cuenta.
+ * - AAA: Arrange / Act / Assert
+ */
+class LedgerEngineTest {
+
+    private static final long NO_AUTO_FLUSH_MS = 60_000;
+
+    private final AccountRepository repository = mock(AccountRepository.class);
+    private final TransactionJournal journal = mock(TransactionJournal.class);
+
+    @Test
+    void shouldRefuseToStart_withoutJournalAndReplay() {
+        // Act + Assert
+        assertThrows(IllegalStateException.class, () -> engine(1, 10, false, true));
+        assertThrows(IllegalStateException.class, () -> engine(1, 10, true, false));
+    }
+
+    @Test
+    void shouldApplyConcurrentMovementsOneAtATime_andPersistTheLastBalance() {
+        // Arrange
+        var account = account(1L, 0);
+        when(repository.findById(1L)).thenReturn(Optional.of(account));
+        when(repository.findAllById(anyIterable())).thenReturn(List.of(account));
+        var engine = engine(4, 100_000, true, true);
+        var balances = ConcurrentHashMap.<BigDecimal>newKeySet();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+
+        // Act: 1000 depósitos de 1 centavo desde 8 hilos
+        List<CompletableFuture<Void>> work = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            work.add(CompletableFuture.supplyAsync(() -> engine.deposit(1L, 1).join(), pool)
+                    .thenAccept(r -> balances.add(r.getBalance())));
+        }
+        CompletableFuture.allOf(work.toArray(CompletableFuture[]::new)).join();
+        engine.flushAll().join();
+        pool.shutdown();
+
+        // Assert: el shard los serializa (cada respuesta ve un saldo distinto) y la BD recibe el último
+        assertEquals(1_000, balances.size());
+        assertEquals(1_000, account.getBalanceCents());
+        verify(journal, times(1_000)).record(any());
+    }
+
+    @Test
+    void shouldRetryFailedFlush_onNextCycle() {
+        // Arrange
+        var account = account(1L, 0);
+        when(repository.findById(1L)).thenReturn(Optional.of(account));
+        when(repository.findAllById(anyIterable()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(List.of(account));
+        var engine = engine(1, 100_000, true, true);
+        engine.deposit(1L, 250).join();
+
+        // Act
+        assertThrows(RuntimeException.class, () -> engine.flushAll().join());
+        engine.find(1L).join(); // deja correr el re-marcado en el hilo del shard
+        engine.flushAll().join();
+
+        // Assert
+        assertEquals(250, account.getBalanceCents());
+    }
+
+    @Test
+    void shouldLeaveNothingToPersist_whenJournalWriteFails() {
+        // Arrange
+        var account = account(1L, 100);
+        when(repository.findById(1L)).thenReturn(Optional.of(account));
+        when(repository.findAllById(anyIterable())).thenReturn(List.of(account));
+        var engine = engine(1, 100_000, true, true);
+        when(journal.record(any()))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("fsync failed")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act: falla el primero; el reintento del cliente se aplica una sola vez
+        assertThrows(CompletionException.class, () -> engine.deposit(1L, 50).join());
+        engine.flushAll().join();
+        long afterFailure = account.getBalanceCents();
+        AccountResponse retried = engine.deposit(1L, 50).join();
+        engine.flushAll().join();
+
+        // Assert
+        assertEquals(100, afterFailure);
+        assertEquals(new BigDecimal("1.50"), retried.getBalance());
+        assertEquals(150, account.getBalanceCents());
+    }
+
+    @Test
+    void shouldApplyNextMovement_onlyAfterPreviousIsDurable() {
+        // Arrange
+        var account = account(1L, 100);
+        when(repository.findById(1L)).thenReturn(Optional.of(account));
+        var engine = engine(1, 100_000, true, true);
+        var fsync = new CompletableFuture<Void>();
+        when(journal.record(any())).thenReturn(fsync).thenReturn(CompletableFuture.completedFuture(null));
+
+        // Act
+        var first = engine.withdraw(1L, 100);
+        var second = engine.withdraw(1L, 1);
+        AccountResponse meanwhile = engine.find(1L).join();
+        fsync.complete(null);
+
+        // Assert: el segundo valida contra el saldo ya durable del primero (SAVINGS sin fondos)
+        assertEquals(new BigDecimal("1.00"), meanwhile.getBalance());
+        assertEquals(new BigDecimal("0.00"), first.join().getBalance());
+        var ex = assertThrows(CompletionException.class, second::join);
+        assertInstanceOf(BusinessException.class, ex.getCause());
+        verify(journal, times(1)).record(any());
+    }
+
+    @Test
+    void shouldCheckpointJournal_onlyAfterACleanFullFlush() {
+        // Arrange
+        var account = account(1L, 0);
+        when(repository.findById(1L)).thenReturn(Optional.of(account));
+        when(repository.findAllById(anyIterable()))
+                .thenThrow(new IllegalStateException("db down"))
+                .thenReturn(List.of(account));
+        var engine = engine(1, 100_000, true, true);
+        engine.start();
+        engine.deposit(1L, 250).join();
+        when(journal.mark()).thenReturn(41L);
+
+        // Act
+        assertThrows(RuntimeException.class, () -> engine.flushAll().join());
+        engine.find(1L).join(); // deja correr el re-marcado en el hilo del shard
+        engine.flushAll().join();
+
+        // Assert: el flush fallido no hace checkpoint; el siguiente, completo, sí
+        verify(journal, times(1)).checkpoint(41L);
+        assertEquals(250, account.getBalanceCents());
+        engine.stop();
+    }
+
+    @Test
+    void shouldEvictCleanAccounts_butKeepPendingBalances() {
+        // Arrange: un shard con lugar para una sola cuenta
+        var one = account(1L, 100);
+        var two = account(2L, 0);
+        when(repository.findById(1L)).thenReturn(Optional.of(one));
+        when(repository.findById(2L)).thenReturn(Optional.of(two));
+        var engine = engine(1, 1, true, true);
+
+        // Act
+        engine.deposit(1L, 50).join();                 // 1 queda con saldo pendiente
+        engine.find(2L).join();                        // no puede desalojar a 1
+        AccountResponse pending = engine.find(1L).join();
+        engine.find(2L).join();
+        engine.find(2L).join();
+
+        // Assert: 1 nunca se recargó de BD (habría vuelto a 1.00); 2, limpia, sí se desalojó
+        assertEquals(new BigDecimal("1.50"), pending.getBalance());
+        verify(repository, times(1)).findById(1L);
+        verify(repository, times(3)).findById(2L);
+    }
+
+    @Test
+    void shouldCacheResolvedNumbers_butNotMisses() {
+        // Arrange
+        when(repository.findByAccountNumber("0001")).thenReturn(Optional.of(account(7L, 0)));
+        when(repository.findByAccountNumber("0404")).thenReturn(Optional.empty());
+        var engine = engine(1, 10, true, true);
+
+        // Act
+        Long first = engine.resolveId("0001");
+        Long second = engine.resolveId("0001");
+        assertThrows(NotFoundException.class, () -> engine.resolveId("0404"));
+        assertThrows(NotFoundException.class, () -> engine.resolveId("0404"));
+
+        // Assert
+        assertEquals(7L, first);
+        assertEquals(7L, second);
+        verify(repository, times(1)).findByAccountNumber("0001");
+        verify(repository, times(2)).findByAccountNumber("0404");
+    }
+
+    private LedgerEngine engine(int shards, int maxAccountsPerShard, boolean journalEnabled, boolean replay) {
+        when(journal.record(any())).thenReturn(CompletableFuture.completedFuture(null));
+        return new LedgerEngine(repository, journal, mock(PlatformTransactionManager.class),
+                shards, 100_000, NO_AUTO_FLUSH_MS, maxAccountsPerShard, journalEnabled, replay);
+    }
+
+    private static Account account(Long id, long balanceCents) {
+        return Account.builder().id(id).accountNumber("000" + id).customerId(1L)
+                .type(Account.Type.SAVINGS).status(Account.Status.ACTIVE).balanceCents(balanceCents).build();
+    }
+}
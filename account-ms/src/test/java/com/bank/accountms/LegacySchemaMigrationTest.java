@@ -0,0 +1,91 @@
+package com.bank.accountms;
+
+import com.bank.accountms.model.IdempotencyRecord;
+import com.bank.accountms.repository.AccountRepository;
+import com.bank.accountms.repository.IdempotencyRecordRepository;
+import com.bank.accountms.service.AccountNumberGenerator;
+import com.bank.accountms.service.AccountService;
+import com.bank.accountms.service.dto.TransactionRequest;
+import com.bank.accountms.service.impl.BlockAccountNumberGenerator;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Arranque sobre una base creada por la versión anterior (ddl-auto=update, sin Flyway):
+ * baseline en V1 y el resto de migraciones aplicadas encima.
+ * - El esquema de partida es el DDL que generaba Hibernate (db/legacy/account-ddl-auto.sql)
+ * - AAA: Arrange / Act / Assert
+ */
+@SpringBootTest
+class LegacySchemaMigrationTest {
+
+    private static final String URL =
+            "jdbc:h2:mem:legacy;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private AccountRepository repository;
+    @Autowired private AccountService service;
+    @Autowired private AccountNumberGenerator generator;
+    @Autowired private IdempotencyRecordRepository idempotency;
+
+    /** Crea el esquema antiguo justo antes de que arranque el contexto (y Flyway con él). */
+    @DynamicPropertySource
+    static void legacySchema(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection c = DriverManager.getConnection(URL, "sa", "")) {
+            ScriptUtils.executeSqlScript(c, new ClassPathResource("db/legacy/account-ddl-auto.sql"));
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void shouldBaselineAtV1_andApplyEveryLaterMigration() {
+        // Act
+        List<String> applied = jdbc.queryForList("select concat(\"version\", ':', \"type\") from \"flyway_schema_history\""
+                + " where \"success\" and \"version\" is not null order by \"installed_rank\"", String.class);
+
+        // Assert
+        assertEquals(List.of("1:BASELINE", "2:SQL", "3:SQL"), applied);
+        assertEquals(1, jdbc.queryForObject(
+                "select count(*) from information_schema.indexes where index_name = 'IDX_ACCOUNTS_CUSTOMER_STATUS'", Integer.class));
+    }
+
+    @Test
+    void shouldKeepLegacyBalance_andAcceptWritesOnIt() {
+        // Arrange
+        var legacy = repository.findByAccountNumber("7781234567891234").orElseThrow();
+
+        // Act
+        var response = service.deposit(legacy.getId(), TransactionRequest.builder().amount(new BigDecimal("0.50")).build());
+
+        // Assert
+        assertEquals(12_550, legacy.getBalanceCents());
+        assertEquals(0, new BigDecimal("126.00").compareTo(response.getBalance()));
+    }
+
+    @Test
+    void shouldServeNewTables_onUpgradedSchema() {
+        // Act
+        String number = generator.next();
+        idempotency.saveAndFlush(IdempotencyRecord.builder()
+                .key("legacy:1").requestHash("0".repeat(64)).responseJson("{}").createdAt(Instant.now()).build());
+
+        // Assert
+        assertTrue(BlockAccountNumberGenerator.isValid(number));
+        assertTrue(idempotency.existsById("legacy:1"));
+    }
+}
@@ -0,0 +1,184 @@
+package com.bank.accountms;
+
+import com.bank.accountms.service.journal.JournalEntry;
+import com.bank.accountms.service.journal.MappedTransactionJournal;
+import com.bank.accountms.service.journal.MappedTransactionJournal.FsyncPolicy;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para MappedTransactionJournal
+ * - AAA: Arrange / Act / Assert
+ */
+class MappedTransactionJournalTest {
+
+    private static final int RECORD_SIZE = 8 + 33; // cabecera [len][crc] + registro
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void shouldReplayEntriesInOrder_afterReopening() throws IOException {
+        // Arrange
+        var journal = open();
+        journal.record(JournalEntry.of(1L, JournalEntry.Direction.DEPOSIT, 1_000, 11_000)).join();
+        journal.record(JournalEntry.of(2L, JournalEntry.Direction.WITHDRAW, 250, -250)).join();
+        journal.close();
+
+        // Act
+        List<JournalEntry> replayed = replay(open());
+
+        // Assert
+        assertEquals(2, replayed.size());
+        assertEquals(1L, replayed.get(0).accountId());
+        assertEquals(11_000, replayed.get(0).balance());
+        assertEquals(JournalEntry.Direction.WITHDRAW, replayed.get(1).direction());
+        assertEquals(250, replayed.get(1).amount());
+        assertEquals(-250, replayed.get(1).balance());
+    }
+
+    @Test
+    void shouldRollOverSegments_whenOneIsFull() throws IOException {
+        // Arrange: 1 MB por segmento, suficiente para ~25.000 registros
+        var journal = open();
+        int total = 30_000;
+
+        // Act
+        for (int i = 1; i <= total; i++) journal.record(JournalEntry.of(1L, JournalEntry.Direction.DEPOSIT, 1, i));
+        journal.close();
+        List<JournalEntry> replayed = replay(open());
+
+        // Assert
+        assertEquals(total, replayed.size());
+        assertEquals(total, replayed.get(total - 1).balance());
+    }
+
+    @Test
+    void shouldStopAtTornRecord_andAppendAfterTheValidPrefix() throws IOException {
+        // Arrange: el tercer registro queda con un byte corrupto (escritura cortada por un crash)
+        var journal = open();
+        for (int i = 1; i <= 3; i++) journal.record(JournalEntry.of((long) i, JournalEntry.Direction.DEPOSIT, 100, i * 100L)).join();
+        journal.close();
+        corrupt(2 * RECORD_SIZE + 8 + 5);
+
+        // Act
+        List<JournalEntry> afterCrash = replay(open());
+        var reopened = open();
+        reopened.record(JournalEntry.of(9L, JournalEntry.Direction.DEPOSIT, 900, 900)).join();
+        reopened.close();
+        List<JournalEntry> afterAppend = replay(open());
+
+        // Assert
+        assertEquals(2, afterCrash.size());
+        assertEquals(3, afterAppend.size());
+        assertEquals(9L, afterAppend.get(2).accountId());
+    }
+
+    @Test
+    void shouldStopAtCorruptedRecord_inTheMiddle() throws IOException {
+        // Arrange
+        var journal = open();
+        for (int i = 1; i <= 3; i++) journal.record(JournalEntry.of((long) i, JournalEntry.Direction.DEPOSIT, 100, 100)).join();
+        journal.close();
+        corrupt(RECORD_SIZE + 4); // CRC del segundo registro
+
+        // Act
+        List<JournalEntry> replayed = replay(open());
+
+        // Assert: lo que sigue a un registro inválido no es confiable
+        assertEquals(1, replayed.size());
+    }
+
+    @Test
+    void shouldRejectSegmentSizesThatOverflowAnInt() {
+        // Act + Assert
+        assertThrows(IllegalArgumentException.class,
+                () -> new MappedTransactionJournal(dir.toString(), 2048, FsyncPolicy.ALWAYS, 10, true));
+    }
+
+    @Test
+    void shouldDeleteOnlyCoveredSegments_onCheckpoint() throws IOException {
+        // Arrange: dos segmentos; el primero se llena con ~25.000 registros
+        var journal = open();
+        int total = 30_000;
+        for (int i = 1; i < total; i++) journal.record(JournalEntry.of(1L, JournalEntry.Direction.DEPOSIT, 1, i));
+        journal.record(JournalEntry.of(1L, JournalEntry.Direction.DEPOSIT, 1, total)).join();
+
+        // Act
+        journal.checkpoint(100);               // el primer segmento aún tiene registros sin cubrir
+        boolean keptWhileUncovered = Files.exists(segment(1));
+        journal.checkpoint(journal.mark());
+        journal.close();
+        List<JournalEntry> replayed = replay(open());
+
+        // Assert
+        assertTrue(keptWhileUncovered);
+        assertFalse(Files.exists(segment(1)));
+        assertTrue(replayed.size() < total);
+        assertEquals(total, replayed.get(replayed.size() - 1).balance());
+    }
+
+    @Test
+    void shouldTreatPreviousRunSegmentsAsCovered_afterRestart() throws IOException {
+        // Arrange: el replay de arranque ya llevó a la BD todo lo de la ejecución anterior
+        var journal = open();
+        for (int i = 1; i <= 30_000; i++) journal.record(JournalEntry.of(1L, JournalEntry.Direction.DEPOSIT, 1, i));
+        journal.close();
+        var restarted = open();
+
+        // Act
+        restarted.checkpoint(restarted.mark());
+        restarted.close();
+
+        // Assert: el segmento en uso nunca se borra
+        assertFalse(Files.exists(segment(1)));
+        assertTrue(Files.exists(segment(2)));
+    }
+
+    @Test
+    void shouldDropPreviousSegmentsOnRoll_whenNothingReplaysThem() throws IOException {
+        // Arrange: modo JPA, el journal se escribe tras el commit y no se reproduce
+        var journal = new MappedTransactionJournal(dir.toString(), 1, FsyncPolicy.ALWAYS, 10, false);
+
+        // Act
+        for (int i = 1; i <= 30_000; i++) journal.record(JournalEntry.of(1L, JournalEntry.Direction.DEPOSIT, 1, i));
+        journal.close();
+
+        // Assert
+        assertFalse(Files.exists(segment(1)));
+        assertTrue(Files.exists(segment(2)));
+    }
+
+    private MappedTransactionJournal open() throws IOException {
+        return new MappedTransactionJournal(dir.toString(), 1, FsyncPolicy.ALWAYS, 10, true);
+    }
+
+    private Path segment(int index) {
+        return dir.resolve(String.format("journal-%06d.log", index));
+    }
+
+    private static List<JournalEntry> replay(MappedTransactionJournal journal) throws IOException {
+        List<JournalEntry> entries = new ArrayList<>();
+        journal.replay(entries::add);
+        journal.close();
+        return entries;
+    }
+
+    private void corrupt(long offset) throws IOException {
+        try (var file = new RandomAccessFile(segment(1).toFile(), "rw")) {
+            file.seek(offset);
+            int b = file.read();
+            file.seek(offset);
+            file.write(b ^ 0xFF);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.bank.accountms;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.service.AccountRules;
+import com.bank.accountms.service.exception.BusinessException;
+import com.bank.accountms.service.util.Money;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para Money y las reglas de saldo en centavos
+ * - AAA: Arrange / Act / Assert
+ */
+class MoneyTest {
+
+    @Test
+    void shouldRoundTripDecimals_atTheJsonBoundary() {
+        // Arrange
+        var amount = new BigDecimal("1250.7");
+
+        // Act
+        long cents = Money.toCents(amount);
+
+        // Assert
+        assertEquals(125_070, cents);
+        assertEquals(new BigDecimal("1250.70"), Money.toDecimal(cents));
+    }
+
+    @Test
+    void shouldRejectSubCentAmounts() {
+        // Arrange
+        var amount = new BigDecimal("10.005");
+
+        // Act + Assert
+        assertThrows(BusinessException.class, () -> Money.toCents(amount));
+    }
+
+    @Test
+    void shouldRejectDeposit_whenBalanceWouldOverflow() {
+        // Act + Assert
+        assertThrows(BusinessException.class, () -> AccountRules.deposit(Long.MAX_VALUE - 10, 11));
+        assertEquals(Long.MAX_VALUE, AccountRules.deposit(Long.MAX_VALUE - 10, 10));
+    }
+
+    @Test
+    void shouldApplyOverdraftLimit_inCents() {
+        // Act + Assert
+        assertEquals(-50_000, AccountRules.withdraw(Account.Type.CHECKING, 0, 50_000));
+        assertThrows(BusinessException.class, () -> AccountRules.withdraw(Account.Type.CHECKING, 0, 50_001));
+        assertThrows(BusinessException.class, () -> AccountRules.withdraw(Account.Type.SAVINGS, 100, 101));
+    }
+}
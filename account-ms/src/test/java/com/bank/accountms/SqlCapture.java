@@ -0,0 +1,116 @@
+package com.bank.accountms;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Envuelve el DataSource de los tests para registrar cada sentencia que ejecuta Hibernate,
+ * con el SQL tal cual lo genera y los parámetros ligados. Los tests de planes hacen EXPLAIN
+ * de esa misma sentencia con los mismos valores, no de un SQL escrito a mano.
+ */
+class SqlCapture implements BeanPostProcessor {
+
+    record Binding(Method setter, Object[] args) {}
+
+    record Captured(String sql, List<Binding> bindings) {}
+
+    private final List<Captured> statements = new CopyOnWriteArrayList<>();
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource ds) return proxy(DataSource.class, ds, this::connection);
+        return bean;
+    }
+
+    void clear() {
+        statements.clear();
+    }
+
+    List<Captured> statements() {
+        return List.copyOf(statements);
+    }
+
+    /** EXPLAIN de la sentencia capturada, con sus parámetros ligados igual que en la ejecución real. */
+    static String explain(DataSource dataSource, Captured statement) throws SQLException {
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement ps = c.prepareStatement("EXPLAIN " + statement.sql())) {
+            for (Binding b : statement.bindings()) invoke(b.setter(), ps, b.args());
+            try (ResultSet rs = ps.executeQuery()) {
+                StringBuilder plan = new StringBuilder();
+                while (rs.next()) plan.append(rs.getString(1)).append('\n');
+                return plan.toString();
+            }
+        }
+    }
+
+    private Object connection(Object target, Method method, Object[] args) throws Throwable {
+        Object result = invoke(method, target, args);
+        return result instanceof Connection c ? proxy(Connection.class, c, this::statement) : result;
+    }
+
+    private Object statement(Object target, Method method, Object[] args) throws Throwable {
+        Object result = invoke(method, target, args);
+        if (method.getName().startsWith("prepareStatement") && result instanceof PreparedStatement ps) {
+            return proxy(PreparedStatement.class, ps, new Recorder((String) args[0]));
+        }
+        return result;
+    }
+
+    /** Acumula los setXxx(índice, valor) y guarda una copia en cada ejecución de la sentencia. */
+    private final class Recorder implements Handler {
+        private final String sql;
+        private final List<Binding> bindings = new ArrayList<>();
+
+        Recorder(String sql) {
+            this.sql = sql;
+        }
+
+        @Override
+        public Object handle(Object target, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && method.getParameterTypes()[0] == int.class) {
+                bindings.add(new Binding(method, args.clone()));
+            } else if (name.equals("clearParameters")) {
+                bindings.clear();
+            } else if (name.startsWith("execute") || name.equals("addBatch")) {
+                statements.add(new Captured(sql, List.copyOf(bindings)));
+            }
+            return invoke(method, target, args);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Handler {
+        Object handle(Object target, Method method, Object[] args) throws Throwable;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, Handler handler) {
+        InvocationHandler h = (p, method, args) -> handler.handle(target, method, args);
+        return (T) Proxy.newProxyInstance(SqlCapture.class.getClassLoader(), new Class<?>[]{type}, h);
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws SQLException {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof SQLException se) throw se;
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,5 @@
+-- DDL que generaba Hibernate (ddl-auto=update, MySQLDialect) con la entidad Account anterior
+-- a Flyway: punto de partida de LegacySchemaMigrationTest.
+create table accounts (balance decimal(18,2) not null, customer_id bigint not null, id bigint not null auto_increment, account_number varchar(20) not null, status enum ('ACTIVE','INACTIVE') not null, type enum ('CHECKING','SAVINGS') not null, primary key (id)) engine=InnoDB;
+alter table accounts add constraint uk_account_number unique (account_number);
+insert into accounts (account_number, customer_id, type, status, balance) values ('7781234567891234', 7, 'SAVINGS', 'ACTIVE', 125.50);
@@ -0,0 +1,50 @@
+package com.bank.benchmarks;
+
+import com.bank.accountms.service.impl.BlockAccountNumberGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generador de números de cuenta por bloques con un allocator en memoria: mide el reparto
+ * ({@code getAndIncrement} + formato Luhn) y las recargas, sin JDBC. {@code isValid} es la
+ * comprobación que hace la API al recibir un número.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccountNumberBenchmark {
+
+    @Param({"100", "1000"})
+    private int blockSize;
+
+    private BlockAccountNumberGenerator generator;
+    private String accountNumber;
+
+    @Setup
+    public void setUp() {
+        AtomicLong sequence = new AtomicLong(1);
+        generator = new BlockAccountNumberGenerator(sequence::getAndAdd, blockSize);
+        accountNumber = generator.next();
+    }
+
+    @Benchmark
+    public String next() {
+        return generator.next();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String nextContended() {
+        return generator.next();
+    }
+
+    @Benchmark
+    public boolean isValid() {
+        return BlockAccountNumberGenerator.isValid(accountNumber);
+    }
+}
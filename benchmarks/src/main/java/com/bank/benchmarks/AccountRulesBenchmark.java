@@ -0,0 +1,98 @@
+package com.bank.benchmarks;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.service.AccountRules;
+import com.bank.accountms.service.exception.BusinessException;
+import com.bank.accountms.service.util.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reglas de saldo en centavos ({@code long}, la que usan AccountServiceImpl y el ledger) frente
+ * al camino anterior con {@link BigDecimal}, copiado aquí como referencia ({@code decimal*}).
+ * Para ver las asignaciones por operación: {@code java -jar target/benchmarks.jar AccountRules -prof gc}
+ * (columna {@code gc.alloc.rate.norm}).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class AccountRulesBenchmark {
+
+    private static final BigDecimal DECIMAL_OVERDRAFT_LIMIT = new BigDecimal("-500");
+
+    private long balance;
+    private long amount;
+    private long overdraft;
+    private BigDecimal decimalBalance;
+    private BigDecimal decimalAmount;
+    private BigDecimal decimalOverdraft;
+
+    @Setup
+    public void setUp() {
+        decimalBalance = new BigDecimal("1250.75");
+        decimalAmount = new BigDecimal("100.25");
+        decimalOverdraft = new BigDecimal("1500.00");
+        balance = Money.toCents(decimalBalance);
+        amount = Money.toCents(decimalAmount);
+        overdraft = Money.toCents(decimalOverdraft);
+    }
+
+    // ---- centavos ----
+
+    @Benchmark
+    public long depositAndWithdrawSavings() {
+        return AccountRules.withdraw(Account.Type.SAVINGS, AccountRules.deposit(balance, amount), amount);
+    }
+
+    @Benchmark
+    public long withdrawCheckingIntoOverdraft() {
+        return AccountRules.withdraw(Account.Type.CHECKING, balance, overdraft);
+    }
+
+    /** Camino de rechazo: incluye el coste de crear la BusinessException (con stack trace). */
+    @Benchmark
+    public Object withdrawRejected() {
+        try {
+            return AccountRules.withdraw(Account.Type.SAVINGS, balance, overdraft);
+        } catch (BusinessException ex) {
+            return ex;
+        }
+    }
+
+    /** Borde JSON: importe recibido -> centavos -> saldo de la respuesta. */
+    @Benchmark
+    public BigDecimal jsonBoundary() {
+        return Money.toDecimal(AccountRules.deposit(balance, Money.toCents(decimalAmount)));
+    }
+
+    // ---- BigDecimal (implementación anterior) ----
+
+    @Benchmark
+    public BigDecimal decimalDepositAndWithdrawSavings() {
+        return decimalWithdraw(Account.Type.SAVINGS, decimalBalance.add(decimalAmount), decimalAmount);
+    }
+
+    @Benchmark
+    public BigDecimal decimalWithdrawCheckingIntoOverdraft() {
+        return decimalWithdraw(Account.Type.CHECKING, decimalBalance, decimalOverdraft);
+    }
+
+    private static BigDecimal decimalWithdraw(Account.Type type, BigDecimal balance, BigDecimal amount) {
+        BigDecimal newBalance = balance.subtract(amount);
+        switch (type) {
+            case SAVINGS -> {
+                if (newBalance.signum() < 0) throw new BusinessException("Insufficient funds");
+            }
+            case CHECKING -> {
+                if (newBalance.compareTo(DECIMAL_OVERDRAFT_LIMIT) < 0)
+                    throw new BusinessException("Overdraft limit exceeded (-500)");
+            }
+        }
+        return newBalance;
+    }
+}
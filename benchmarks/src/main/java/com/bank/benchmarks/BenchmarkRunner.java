@@ -0,0 +1,34 @@
+package com.bank.benchmarks;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Punto de entrada de {@code benchmarks.jar}: acepta las opciones normales de JMH y, si no se
+ * indica otro formato, escribe el resultado en JSON con marca de tiempo para comparar corridas.
+ */
+public final class BenchmarkRunner {
+
+    private BenchmarkRunner() {}
+
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        var cli = new CommandLineOptions(args);
+        var options = new OptionsBuilder().parent(cli);
+        if (cli.getResultFormat().hasValue() || cli.getResult().hasValue()) {
+            new Runner(options.build()).run();
+            return;
+        }
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        new Runner(options
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/jmh-result-" + stamp + ".json")
+                .build()).run();
+    }
+}
@@ -0,0 +1,51 @@
+package com.bank.benchmarks;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.service.AccountMapper;
+import com.bank.accountms.service.dto.AccountResponse;
+import com.bank.customerms.model.Customer;
+import com.bank.customerms.service.dto.CustomerRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Datos de ejemplo compartidos por los benchmarks. */
+final class Fixtures {
+    private Fixtures() {}
+
+    static Account account(long id) {
+        return Account.builder()
+                .id(id)
+                .accountNumber(String.format("%016d", id))
+                .customerId(id % 1000)
+                .type(id % 2 == 0 ? Account.Type.SAVINGS : Account.Type.CHECKING)
+                .status(Account.Status.ACTIVE)
+                .balanceCents(125_075)
+                .build();
+    }
+
+    static List<AccountResponse> accountResponses(int size) {
+        List<AccountResponse> list = new ArrayList<>(size);
+        for (long i = 1; i <= size; i++) list.add(AccountMapper.toResponse(account(i)));
+        return list;
+    }
+
+    static Customer customer() {
+        return Customer.builder()
+                .id(1L)
+                .firstName("Yesi")
+                .lastName("Peche")
+                .dni("99990001")
+                .email("yesi@test.com")
+                .build();
+    }
+
+    static CustomerRequest rawCustomerRequest() {
+        return CustomerRequest.builder()
+                .firstName("  Yesi ")
+                .lastName(" Peche  ")
+                .dni(" 99990001 ")
+                .email("  Yesi@Test.COM ")
+                .build();
+    }
+}
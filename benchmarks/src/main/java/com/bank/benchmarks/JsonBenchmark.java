@@ -0,0 +1,46 @@
+package com.bank.benchmarks;
+
+import com.bank.accountms.service.dto.AccountResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/** Serialización Jackson de listas de AccountResponse (GET /accounts). */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private List<AccountResponse> accounts;
+    private ObjectMapper mapper;
+    private ObjectWriter listWriter;
+
+    @Setup
+    public void setUp() {
+        accounts = Fixtures.accountResponses(size);
+        mapper = JsonMapper.builder().findAndAddModules().build();
+        listWriter = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, AccountResponse.class));
+    }
+
+    @Benchmark
+    public byte[] writeList() throws JsonProcessingException {
+        return mapper.writeValueAsBytes(accounts);
+    }
+
+    /** Writer con el tipo ya resuelto, como hace la exportación NDJSON. */
+    @Benchmark
+    public byte[] writeListWithTypedWriter() throws JsonProcessingException {
+        return listWriter.writeValueAsBytes(accounts);
+    }
+}
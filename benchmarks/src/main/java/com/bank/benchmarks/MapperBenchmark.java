@@ -0,0 +1,48 @@
+package com.bank.benchmarks;
+
+import com.bank.accountms.model.Account;
+import com.bank.accountms.service.AccountMapper;
+import com.bank.accountms.service.dto.AccountResponse;
+import com.bank.customerms.model.Customer;
+import com.bank.customerms.service.CustomerMapper;
+import com.bank.customerms.service.dto.CustomerRequest;
+import com.bank.customerms.service.dto.CustomerResponse;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/** Mappers entidad -> DTO y la normalización de CustomerServiceImpl.create. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class MapperBenchmark {
+
+    private Account account;
+    private Customer customer;
+    private CustomerRequest rawRequest;
+
+    @Setup
+    public void setUp() {
+        account = Fixtures.account(42);
+        customer = Fixtures.customer();
+        rawRequest = Fixtures.rawCustomerRequest();
+    }
+
+    @Benchmark
+    public AccountResponse accountToResponse() {
+        return AccountMapper.toResponse(account);
+    }
+
+    @Benchmark
+    public CustomerResponse customerToResponse() {
+        return CustomerMapper.toResponse(customer);
+    }
+
+    @Benchmark
+    public CustomerRequest customerNormalize() {
+        return CustomerMapper.normalize(rawRequest);
+    }
+}
@@ -0,0 +1,38 @@
+package com.bank.benchmarks.load;
+
+import java.util.Arrays;
+
+/** Latencias en nanos de un solo hilo; se combinan al final con {@link #merge}. */
+final class LatencyRecorder {
+
+    private long[] values = new long[1024];
+    private int size;
+
+    void record(long nanos) {
+        if (size == values.length) values = Arrays.copyOf(values, size * 2);
+        values[size++] = nanos;
+    }
+
+    void merge(LatencyRecorder other) {
+        if (size + other.size > values.length) values = Arrays.copyOf(values, Math.max(values.length * 2, size + other.size));
+        System.arraycopy(other.values, 0, values, size, other.size);
+        size += other.size;
+    }
+
+    int count() {
+        return size;
+    }
+
+    /** Percentiles en milisegundos (p50, p99, p99.9), ordenando una copia. */
+    double[] percentilesMs(double... percentiles) {
+        long[] sorted = Arrays.copyOf(values, size);
+        Arrays.sort(sorted);
+        double[] out = new double[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) {
+            if (size == 0) continue;
+            int idx = (int) Math.min(size - 1, Math.max(0, Math.ceil(percentiles[i] / 100.0 * size) - 1));
+            out[i] = sorted[idx] / 1_000_000.0;
+        }
+        return out;
+    }
+}
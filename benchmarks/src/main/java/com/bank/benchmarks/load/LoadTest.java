@@ -0,0 +1,333 @@
+package com.bank.benchmarks.load;
+
+import com.bank.accountms.AccountMsApplication;
+import com.bank.customerms.CustomerMsApplication;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BinaryOperator;
+
+/**
+ * Prueba de carga end-to-end de account-ms + customer-ms.
+ * <p>
+ * Levanta ambos servicios en este proceso sobre H2 en memoria (puerto aleatorio; customer-ms con
+ * el perfil "stub", así no depende de account-ms), siembra clientes y cuentas, y lanza una mezcla
+ * concurrente de altas, depósitos, retiros y transferencias durante un tiempo fijo. Reporta
+ * throughput y p50/p99/p99.9 por operación y, al final, concilia el saldo esperado de cada cuenta
+ * (según las respuestas 2xx) con el real: cada diferencia es una actualización perdida.
+ * <p>
+ * Parámetros (system properties): {@code load.threads} (32), {@code load.duration-seconds} (30),
+ * {@code load.customers} (50), {@code load.accounts} (200), {@code load.virtual-threads} (false),
+ * {@code load.account-url} / {@code load.customer-url} para apuntar a servicios ya levantados.
+ * El reporte se escribe además en {@code target/load-report-<timestamp>.json}.
+ */
+public final class LoadTest {
+
+    enum Op { CREATE, DEPOSIT, WITHDRAW, TRANSFER }
+
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("1000.00");
+
+    private final ObjectMapper json = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+    private final HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+    private final String accountUrl;
+    private final String customerUrl;
+    private final List<Long> customers = new ArrayList<>();
+    private final List<Long> accounts = Collections.synchronizedList(new ArrayList<>());
+    private final Map<Long, BigDecimal> expected = new ConcurrentHashMap<>();
+    private final Map<Op, AtomicLong> ok = new EnumMap<>(Op.class);
+    private final Map<Op, AtomicLong> rejected = new EnumMap<>(Op.class);
+    private final Map<Op, AtomicLong> ambiguous = new EnumMap<>(Op.class);
+
+    private LoadTest(String accountUrl, String customerUrl) {
+        this.accountUrl = accountUrl;
+        this.customerUrl = customerUrl;
+        for (Op op : Op.values()) {
+            ok.put(op, new AtomicLong());
+            rejected.put(op, new AtomicLong());
+            ambiguous.put(op, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        int threads = Integer.getInteger("load.threads", 32);
+        int durationSeconds = Integer.getInteger("load.duration-seconds", 30);
+        int customerCount = Integer.getInteger("load.customers", 50);
+        int accountCount = Integer.getInteger("load.accounts", 200);
+        boolean virtual = Boolean.getBoolean("load.virtual-threads");
+
+        List<ConfigurableApplicationContext> started = new ArrayList<>();
+        try {
+            String customerUrl = System.getProperty("load.customer-url");
+            String accountUrl = System.getProperty("load.account-url");
+            if (customerUrl == null) {
+                var ctx = start(CustomerMsApplication.class, "customer", virtual, "--spring.profiles.active=stub");
+                started.add(ctx);
+                customerUrl = baseUrl(ctx);
+            }
+            if (accountUrl == null) {
+                var ctx = start(AccountMsApplication.class, "account", virtual, "--customerms.base-url=" + customerUrl);
+                started.add(ctx);
+                accountUrl = baseUrl(ctx);
+            }
+
+            var test = new LoadTest(accountUrl, customerUrl);
+            test.seed(customerCount, accountCount);
+            Map<Op, LatencyRecorder> latencies = test.run(threads, Duration.ofSeconds(durationSeconds));
+            Map<String, Object> report = test.report(threads, durationSeconds, virtual, latencies, test.reconcile());
+            test.write(report);
+        } finally {
+            Collections.reverse(started);
+            started.forEach(ConfigurableApplicationContext::close);
+        }
+    }
+
+    // ----------------------------
+    // Arranque de servicios
+    // ----------------------------
+    private static ConfigurableApplicationContext start(Class<?> app, String module, boolean virtual, String... extra) {
+        // Como argumentos de línea de comandos: ganan a los application.properties del classpath,
+        // que aquí son dos con el mismo nombre. Cada servicio aplica solo sus migraciones.
+        List<String> args = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:" + module + "_load;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=none",
+                "--spring.flyway.locations=classpath:db/migration/" + module,
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.show-sql=false",
+                "--spring.jmx.enabled=false",
+                "--spring.main.banner-mode=off",
+                "--spring.threads.virtual.enabled=" + virtual,
+                "--logging.level.root=WARN"));
+        args.addAll(List.of(extra));
+        return new SpringApplicationBuilder(app).run(args.toArray(String[]::new));
+    }
+
+    private static String baseUrl(ConfigurableApplicationContext ctx) {
+        return "http://localhost:" + ((WebServerApplicationContext) ctx).getWebServer().getPort();
+    }
+
+    // ----------------------------
+    // Siembra
+    // ----------------------------
+    private void seed(int customerCount, int accountCount) throws IOException, InterruptedException {
+        for (int i = 0; i < customerCount; i++) {
+            var body = Map.of(
+                    "firstName", "Load",
+                    "lastName", "Customer" + i,
+                    "dni", String.format("%08d", 70_000_000 + i),
+                    "email", "load" + i + "@test.com");
+            var resp = post(customerUrl + "/customers", body);
+            if (resp.statusCode() / 100 != 2) throw new IllegalStateException("Seed customer failed: " + resp.body());
+            customers.add(json.readTree(resp.body()).get("id").asLong());
+        }
+        for (int i = 0; i < accountCount; i++) {
+            if (create(ThreadLocalRandom.current()) != 2) throw new IllegalStateException("Seed account failed");
+        }
+    }
+
+    // ----------------------------
+    // Carga
+    // ----------------------------
+    private Map<Op, LatencyRecorder> run(int threads, Duration duration) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        long deadline = System.nanoTime() + duration.toNanos();
+        List<Future<Map<Op, LatencyRecorder>>> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(pool.submit(() -> {
+                Map<Op, LatencyRecorder> local = new EnumMap<>(Op.class);
+                for (Op op : Op.values()) local.put(op, new LatencyRecorder());
+                var rnd = ThreadLocalRandom.current();
+                while (System.nanoTime() < deadline) {
+                    Op op = pick(rnd.nextInt(100));
+                    long start = System.nanoTime();
+                    int outcome = execute(op, rnd);
+                    local.get(op).record(System.nanoTime() - start);
+                    (outcome == 2 ? ok : outcome == 4 ? rejected : ambiguous).get(op).incrementAndGet();
+                }
+                return local;
+            }));
+        }
+
+        Map<Op, LatencyRecorder> merged = new EnumMap<>(Op.class);
+        for (Op op : Op.values()) merged.put(op, new LatencyRecorder());
+        for (var w : workers) {
+            try {
+                w.get().forEach((op, rec) -> merged.get(op).merge(rec));
+            } catch (ExecutionException e) {
+                throw new IllegalStateException("Load worker failed", e.getCause());
+            }
+        }
+        pool.shutdown();
+        return merged;
+    }
+
+    /** Mezcla: 5% altas, 35% depósitos, 35% retiros, 25% transferencias. */
+    private static Op pick(int roll) {
+        if (roll < 5) return Op.CREATE;
+        if (roll < 40) return Op.DEPOSIT;
+        if (roll < 75) return Op.WITHDRAW;
+        return Op.TRANSFER;
+    }
+
+    /** Devuelve la clase de estado: 2 (aplicada), 4 (rechazada, sin efecto) u otro (resultado incierto). */
+    private int execute(Op op, ThreadLocalRandom rnd) {
+        try {
+            return switch (op) {
+                case CREATE -> create(rnd);
+                case DEPOSIT -> movement(randomAccount(rnd), "deposit", amount(rnd), BigDecimal::add);
+                case WITHDRAW -> movement(randomAccount(rnd), "withdraw", amount(rnd), BigDecimal::subtract);
+                case TRANSFER -> transfer(rnd);
+            };
+        } catch (IOException e) {
+            return 5;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return 5;
+        }
+    }
+
+    private int create(ThreadLocalRandom rnd) throws IOException, InterruptedException {
+        var body = Map.of(
+                "customerId", customers.get(rnd.nextInt(customers.size())),
+                "type", rnd.nextBoolean() ? "SAVINGS" : "CHECKING",
+                "initialBalance", INITIAL_BALANCE);
+        var resp = post(accountUrl + "/accounts", body);
+        int status = resp.statusCode() / 100;
+        if (status == 2) {
+            long id = json.readTree(resp.body()).get("id").asLong();
+            expected.put(id, INITIAL_BALANCE);
+            accounts.add(id);
+        }
+        return status;
+    }
+
+    private int movement(long id, String kind, BigDecimal amount,
+                         BinaryOperator<BigDecimal> apply) throws IOException, InterruptedException {
+        var resp = post(accountUrl + "/accounts/" + id + "/" + kind, Map.of("amount", amount));
+        int status = resp.statusCode() / 100;
+        if (status == 2) expected.merge(id, amount, apply);
+        return status;
+    }
+
+    private int transfer(ThreadLocalRandom rnd) throws IOException, InterruptedException {
+        long from = randomAccount(rnd);
+        long to = randomAccount(rnd);
+        if (from == to) return 4;
+        BigDecimal amount = amount(rnd);
+        var resp = post(accountUrl + "/accounts/transfers",
+                Map.of("fromAccountId", from, "toAccountId", to, "amount", amount));
+        int status = resp.statusCode() / 100;
+        if (status == 2) {
+            expected.merge(from, amount, BigDecimal::subtract);
+            expected.merge(to, amount, BigDecimal::add);
+        }
+        return status;
+    }
+
+    private long randomAccount(ThreadLocalRandom rnd) {
+        synchronized (accounts) {
+            return accounts.get(rnd.nextInt(accounts.size()));
+        }
+    }
+
+    private static BigDecimal amount(ThreadLocalRandom rnd) {
+        return BigDecimal.valueOf(rnd.nextInt(100, 20_000), 2);
+    }
+
+    // ----------------------------
+    // Conciliación y reporte
+    // ----------------------------
+    private Map<String, Object> reconcile() throws IOException, InterruptedException {
+        int mismatched = 0;
+        BigDecimal drift = BigDecimal.ZERO;
+        List<Map<String, Object>> samples = new ArrayList<>();
+        for (var e : new TreeMap<>(expected).entrySet()) {
+            var resp = http.send(HttpRequest.newBuilder(URI.create(accountUrl + "/accounts/" + e.getKey())).GET().build(),
+                    HttpResponse.BodyHandlers.ofString());
+            BigDecimal actual = new BigDecimal(json.readTree(resp.body()).get("balance").asText());
+            if (actual.compareTo(e.getValue()) != 0) {
+                mismatched++;
+                drift = drift.add(actual.subtract(e.getValue()).abs());
+                if (samples.size() < 10) samples.add(Map.of("accountId", e.getKey(), "expected", e.getValue(), "actual", actual));
+            }
+        }
+        long uncertain = ambiguous.values().stream().mapToLong(AtomicLong::get).sum();
+        Map<String, Object> r = new LinkedHashMap<>();
+        r.put("accounts", expected.size());
+        r.put("mismatchedAccounts", mismatched);
+        r.put("absoluteDrift", drift);
+        r.put("uncertainOperations", uncertain); // timeouts / 5xx: pueden explicar diferencias
+        r.put("samples", samples);
+        return r;
+    }
+
+    private Map<String, Object> report(int threads, int durationSeconds, boolean virtual,
+                                       Map<Op, LatencyRecorder> latencies, Map<String, Object> reconciliation) {
+        Map<String, Object> ops = new LinkedHashMap<>();
+        long total = 0;
+        for (Op op : Op.values()) {
+            LatencyRecorder rec = latencies.get(op);
+            double[] p = rec.percentilesMs(50, 99, 99.9);
+            total += rec.count();
+            Map<String, Object> o = new LinkedHashMap<>();
+            o.put("count", rec.count());
+            o.put("ok", ok.get(op).get());
+            o.put("rejected", rejected.get(op).get());
+            o.put("uncertain", ambiguous.get(op).get());
+            o.put("p50Ms", p[0]);
+            o.put("p99Ms", p[1]);
+            o.put("p999Ms", p[2]);
+            ops.put(op.name(), o);
+        }
+        Map<String, Object> r = new LinkedHashMap<>();
+        r.put("threads", threads);
+        r.put("durationSeconds", durationSeconds);
+        r.put("virtualThreads", virtual);
+        r.put("totalOperations", total);
+        r.put("throughputPerSecond", BigDecimal.valueOf(total).divide(BigDecimal.valueOf(durationSeconds), 1, RoundingMode.HALF_UP));
+        r.put("operations", ops);
+        r.put("reconciliation", reconciliation);
+        return r;
+    }
+
+    private void write(Map<String, Object> report) throws IOException {
+        String text = json.writeValueAsString(report);
+        System.out.println(text);
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path out = Path.of("target", "load-report-" + stamp + ".json");
+        Files.createDirectories(out.getParent());
+        Files.writeString(out, text);
+        System.out.println("Report written to " + out.toAbsolutePath());
+    }
+
+    private HttpResponse<String> post(String url, Object body) throws IOException, InterruptedException {
+        var req = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(10))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json.writeValueAsString(body)))
+                .build();
+        return http.send(req, HttpResponse.BodyHandlers.ofString());
+    }
+}
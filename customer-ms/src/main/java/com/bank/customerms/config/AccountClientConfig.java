@@ -0,0 +1,61 @@
+package com.bank.customerms.config;
+
+import com.bank.customerms.service.AccountClient;
+import com.bank.customerms.service.impl.BatchingAccountClient;
+import com.bank.customerms.service.impl.ResilientAccountClient;
+import com.bank.customerms.service.impl.SingleFlightAccountClient;
+import com.bank.customerms.service.impl.TimedAccountClient;
+import com.bank.customerms.service.util.Resilience;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Cadena de decoradores de AccountClient. {@code delegate} es la implementación real
+ * (HTTP, o el stub con el perfil "stub"); el bean {@code @Primary} es el que recibe CustomerServiceImpl:
+ * single-flight -> micro-batching -> circuit breaker/bulkhead -> timer -> delegate.
+ */
+@Configuration
+public class AccountClientConfig {
+
+    @Bean
+    @Primary
+    public SingleFlightAccountClient singleFlightAccountClient(BatchingAccountClient batchingAccountClient) {
+        return new SingleFlightAccountClient(batchingAccountClient);
+    }
+
+    @Bean
+    public BatchingAccountClient batchingAccountClient(
+            ResilientAccountClient resilientAccountClient,
+            @Value("${accountms.batch.max-size:100}") int maxBatchSize,
+            @Value("${accountms.batch.window-ms:5}") long windowMs) {
+        return new BatchingAccountClient(resilientAccountClient, maxBatchSize, windowMs);
+    }
+
+    @Bean
+    public ResilientAccountClient resilientAccountClient(@Qualifier(AccountClient.DELEGATE) AccountClient delegate,
+                                                         Resilience accountResilience,
+                                                         MeterRegistry meterRegistry) {
+        return new ResilientAccountClient(new TimedAccountClient(delegate, meterRegistry), accountResilience);
+    }
+
+    @Bean
+    public Resilience accountResilience(
+            @Value("${accountms.breaker.window-size:50}") int windowSize,
+            @Value("${accountms.breaker.minimum-calls:20}") int minimumCalls,
+            @Value("${accountms.breaker.failure-rate-percent:50}") float failureRate,
+            @Value("${accountms.breaker.slow-call-rate-percent:80}") float slowCallRate,
+            @Value("${accountms.breaker.slow-call-ms:1000}") long slowCallMs,
+            @Value("${accountms.breaker.open-state-ms:10000}") long openStateMs,
+            @Value("${accountms.breaker.half-open-calls:5}") int halfOpenCalls,
+            @Value("${accountms.bulkhead.max-concurrent:64}") int maxConcurrent,
+            MeterRegistry meterRegistry) {
+        var resilience = new Resilience("Account service", new Resilience.Settings(windowSize, minimumCalls, failureRate,
+                slowCallRate, slowCallMs, openStateMs, halfOpenCalls, maxConcurrent));
+        resilience.bindTo(meterRegistry, "account-ms");
+        return resilience;
+    }
+}
@@ -0,0 +1,55 @@
+package com.bank.customerms.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cliente HTTP asíncrono hacia account-ms (reemplaza al RestTemplate sobre
+ * SimpleClientHttpRequestFactory, que abría una conexión por llamada).
+ * Pool de conexiones keep-alive acotado, con expulsión de conexiones ociosas.
+ */
+@Configuration
+public class AccountHttpClientConfig {
+
+    @Bean
+    public PoolingAsyncClientConnectionManager accountConnectionManager(
+            @Value("${accountms.http.max-connections:50}") int maxConnections,
+            @Value("${accountms.http.connect-timeout-ms:1000}") long connectTimeoutMs,
+            @Value("${accountms.http.keep-alive-ms:30000}") long keepAliveMs) {
+        return PoolingAsyncClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnections) // un único destino: account-ms
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+                        .setTimeToLive(TimeValue.ofMilliseconds(keepAliveMs))
+                        .build())
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpAsyncClient accountHttpClient(
+            PoolingAsyncClientConnectionManager accountConnectionManager,
+            @Value("${accountms.http.acquire-timeout-ms:2000}") long acquireTimeoutMs,
+            @Value("${accountms.http.response-timeout-ms:2500}") long responseTimeoutMs,
+            @Value("${accountms.http.keep-alive-ms:30000}") long keepAliveMs) {
+        CloseableHttpAsyncClient client = HttpAsyncClients.custom()
+                .setConnectionManager(accountConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(acquireTimeoutMs))
+                        .setResponseTimeout(Timeout.ofMilliseconds(responseTimeoutMs))
+                        .build())
+                .evictIdleConnections(TimeValue.ofMilliseconds(keepAliveMs))
+                .build();
+        client.start();
+        return client;
+    }
+}
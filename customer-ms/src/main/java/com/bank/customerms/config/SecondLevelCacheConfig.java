@@ -0,0 +1,70 @@
+package com.bank.customerms.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Regiones de la caché de segundo nivel de Hibernate (JCache sobre Caffeine, en proceso),
+ * creadas aquí para fijar tamaño y TTL desde {@code customer-cache.*}.
+ * <p>
+ * Hibernate invalida solo: {@code update}/{@code delete} pasan por la sesión (READ_WRITE sobre
+ * la región de entidades) y cualquier escritura en {@code customers} marca la tabla en la región
+ * de timestamps, lo que descarta los resultados cacheados de {@code existsByDni}. La caché es por
+ * instancia: con varias réplicas, lo escrito en otra se ve al vencer el TTL.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    public static final String CUSTOMERS = "customers";
+    public static final String CUSTOMERS_BY_DNI = "customers-by-dni";
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(@Value("${customer-cache.entity.max-size:10000}") long entityMaxSize,
+                                              @Value("${customer-cache.entity.ttl-seconds:600}") long entityTtlSeconds,
+                                              @Value("${customer-cache.query.max-size:10000}") long queryMaxSize,
+                                              @Value("${customer-cache.query.ttl-seconds:600}") long queryTtlSeconds) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        create(cacheManager, CUSTOMERS, bounded(entityMaxSize, entityTtlSeconds));
+        create(cacheManager, CUSTOMERS_BY_DNI, bounded(queryMaxSize, queryTtlSeconds));
+        create(cacheManager, RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded(queryMaxSize, queryTtlSeconds));
+        // Última escritura por tabla: sin límite ni vencimiento, o el query cache podría
+        // servir resultados anteriores a un update.
+        create(cacheManager, RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, base());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxSize, long ttlSeconds) {
+        CaffeineConfiguration<Object, Object> config = base();
+        config.setMaximumSize(OptionalLong.of(maxSize));
+        config.setExpireAfterWrite(OptionalLong.of(TimeUnit.SECONDS.toNanos(ttlSeconds)));
+        return config;
+    }
+
+    private static CaffeineConfiguration<Object, Object> base() {
+        CaffeineConfiguration<Object, Object> config = new CaffeineConfiguration<>();
+        config.setStoreByValue(false); // Hibernate ya guarda entradas desensambladas
+        config.setStatisticsEnabled(true);
+        return config;
+    }
+
+    /** Varios contextos en la misma JVM (tests) comparten el CacheManager por defecto. */
+    private static void create(CacheManager cacheManager, String name, CaffeineConfiguration<Object, Object> config) {
+        if (cacheManager.getCache(name) == null) cacheManager.createCache(name, config);
+    }
+}
@@ -0,0 +1,32 @@
+package com.bank.customerms.config;
+
+import com.bank.customerms.service.util.Futures;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Modo hilos virtuales ({@code spring.threads.virtual.enabled=true}, JDK 21+): Spring Boot
+ * lo aplica al executor de Tomcat; aquí se extiende al executor de {@link Futures}, donde
+ * también se completan los callbacks del cliente HTTP de account-ms.
+ */
+@Configuration
+public class ThreadingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ThreadingConfig.class);
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @PostConstruct
+    void configureFutures() {
+        if (!virtualThreads) return;
+        if (Futures.useVirtualThreads()) {
+            log.info("Futures executor running on virtual threads");
+        } else {
+            log.warn("spring.threads.virtual.enabled=true but virtual threads need JDK 21+; keeping platform pool");
+        }
+    }
+}
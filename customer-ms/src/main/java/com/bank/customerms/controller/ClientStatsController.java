@@ -0,0 +1,43 @@
+package com.bank.customerms.controller;
+
+import com.bank.customerms.service.impl.BatchingAccountClient;
+import com.bank.customerms.service.impl.ResilientAccountClient;
+import com.bank.customerms.service.impl.SingleFlightAccountClient;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/internal/clients")
+@RequiredArgsConstructor
+@Tag(name = "Client stats", description = "Runtime stats of inter-service clients")
+public class ClientStatsController {
+
+    private final SingleFlightAccountClient accountSingleFlight;
+    private final BatchingAccountClient accountBatching;
+    private final ResilientAccountClient accountResilient;
+    private final PoolingAsyncClientConnectionManager accountConnectionManager;
+
+    @Operation(summary = "AccountClient stats")
+    @GetMapping("/accounts")
+    public Map<String, Object> accountClient() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("singleFlight", accountSingleFlight.stats());
+        stats.put("batching", accountBatching.stats());
+        stats.put("resilience", accountResilient.stats());
+        var pool = accountConnectionManager.getTotalStats();
+        stats.put("pool", Map.of(
+                "leased", pool.getLeased(),
+                "available", pool.getAvailable(),
+                "pending", pool.getPending(),
+                "max", pool.getMax()));
+        return stats;
+    }
+}
@@ -3,11 +3,14 @@ package com.bank.customerms.controller;
 import com.bank.customerms.service.CustomerService;
 import com.bank.customerms.service.dto.CustomerRequest;
 import com.bank.customerms.service.dto.CustomerResponse;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 
@@ -17,6 +20,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 @Tag(name = "Customers", description = "Operations related to customer management")
 public class CustomerController {
 
+    static final String NEXT_CURSOR = "X-Next-Cursor";
+    static final String NDJSON = "application/x-ndjson";
+
     private final CustomerService service;
 
     @Operation(summary = "Create customer", description = "Registers a new customer validating that the DNI is unique.")
@@ -26,10 +32,23 @@ public class CustomerController {
         return service.create(request);
     }
 
-    @Operation(summary = "List customers", description = "Retrieves all registered customers.")
+    @Operation(summary = "List customers",
+            description = "Retrieves registered customers with keyset pagination by id. When more results exist, the "
+                    + NEXT_CURSOR + " header carries the cursor for the next page.")
     @GetMapping
-    public List<CustomerResponse> findAll() {
-        return service.findAll();
+    public List<CustomerResponse> findAll(@RequestParam(required = false) String cursor,
+                                          @RequestParam(defaultValue = "100") int limit,
+                                          HttpServletResponse http) {
+        var page = service.findPage(cursor, limit);
+        if (page.getNextCursor() != null) http.setHeader(NEXT_CURSOR, page.getNextCursor());
+        return page.getItems();
+    }
+
+    @Operation(summary = "Export customers", description = "Streams every customer as NDJSON (one JSON object per line).")
+    @GetMapping(value = "/export", produces = NDJSON)
+    public void export(HttpServletResponse http) throws IOException {
+        http.setContentType(NDJSON);
+        service.exportAll(http.getOutputStream());
     }
 
     @Operation(summary = "Get customer by ID", description = "Retrieves a specific customer by its unique identifier.")
@@ -47,7 +66,7 @@ public class CustomerController {
     @Operation(summary = "Delete customer", description = "Deletes a customer, but blocks the operation if they have active accounts.")
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void delete(@PathVariable Long id) {
-        service.delete(id);
+    public CompletableFuture<Void> delete(@PathVariable Long id) {
+        return service.deleteAsync(id); // el hilo del servlet se libera mientras responde account-ms
     }
 }
@@ -1,8 +1,10 @@
 package com.bank.customerms.controller;
 
 import com.bank.customerms.service.exception.BusinessException;
+import com.bank.customerms.service.exception.BusinessRejections;
 import com.bank.customerms.service.exception.NotFoundException;
 import jakarta.validation.ConstraintViolationException;
+import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.MethodArgumentNotValidException;
@@ -14,10 +16,13 @@ import org.slf4j.LoggerFactory;
 import java.util.Map;
 
 @RestControllerAdvice
+@RequiredArgsConstructor
 public class GlobalExceptionHandler {
 
     private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private final BusinessRejections rejections;
+
     @ExceptionHandler(NotFoundException.class)
     @ResponseStatus(HttpStatus.NOT_FOUND)
     public Map<String, Object> handleNotFound(NotFoundException ex) {
@@ -27,6 +32,7 @@ public class GlobalExceptionHandler {
     @ExceptionHandler(BusinessException.class)
     @ResponseStatus(HttpStatus.CONFLICT)
     public Map<String, Object> handleBusiness(BusinessException ex) {
+        rejections.record(ex.getMessage());
         return Map.of("error", ex.getMessage());
     }
 
@@ -1,11 +1,16 @@
 package com.bank.customerms.model;
 
+import com.bank.customerms.config.SecondLevelCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.CUSTOMERS)
 @Table(name = "customers",
         uniqueConstraints = @UniqueConstraint(name = "uk_customer_dni", columnNames = "dni"))
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
@@ -1,11 +1,53 @@
 package com.bank.customerms.repository;
 
+import com.bank.customerms.config.SecondLevelCacheConfig;
 import com.bank.customerms.model.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
+
+    /**
+     * Sin transacción propia (SUPPORTS): un acierto en la caché de segundo nivel se responde
+     * sin pedir conexión al pool ni hacer el BEGIN/COMMIT de una transacción read-only.
+     */
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
+    Optional<Customer> findById(Long id);
+
+    /**
+     * Chequeo de DNI duplicado del alta. Resultado en el query cache de Hibernate; se invalida
+     * con cualquier escritura en customers.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = SecondLevelCacheConfig.CUSTOMERS_BY_DNI)
+    })
     boolean existsByDni(String dni);
+
     Optional<Customer> findByDni(String dni);
+
+    /** Página por keyset (id > afterId). Sin COUNT: devuelve List. */
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long afterId, Pageable pageable);
+
+    /**
+     * Lectura forward-only para exportaciones. En MySQL el fetch size solo se respeta con
+     * {@code useCursorFetch=true} en la URL JDBC.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("select c from Customer c order by c.id")
+    Stream<Customer> streamAll();
 }
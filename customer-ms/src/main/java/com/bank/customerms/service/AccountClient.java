@@ -1,7 +1,25 @@
 package com.bank.customerms.service;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 public interface AccountClient {
+    /** Qualifier de la implementación real (HTTP o stub), la que envuelven los decoradores. */
+    String DELEGATE = "accountClientDelegate";
+
     CompletableFuture<Boolean> hasActiveAccounts(Long customerId);
+
+    /** customerId -> tiene cuentas activas. Por defecto una consulta por id; las implementaciones HTTP usan el endpoint batch. */
+    default CompletableFuture<Map<Long, Boolean>> hasActiveAccounts(Collection<Long> customerIds) {
+        Map<Long, CompletableFuture<Boolean>> calls = new LinkedHashMap<>();
+        for (Long id : customerIds) calls.put(id, hasActiveAccounts(id));
+        return CompletableFuture.allOf(calls.values().toArray(CompletableFuture[]::new))
+                .thenApply(v -> {
+                    Map<Long, Boolean> result = new LinkedHashMap<>();
+                    calls.forEach((id, f) -> result.put(id, f.join()));
+                    return result;
+                });
+    }
 }
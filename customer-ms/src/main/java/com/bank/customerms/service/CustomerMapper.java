@@ -7,6 +7,16 @@ import com.bank.customerms.service.dto.CustomerResponse;
 public final class CustomerMapper {
     private CustomerMapper() {}
 
+    /** Recorta espacios y pasa el email a minúsculas antes de validar unicidad y persistir. */
+    public static CustomerRequest normalize(CustomerRequest r) {
+        return r.toBuilder()
+                .firstName(r.getFirstName().trim())
+                .lastName(r.getLastName().trim())
+                .dni(r.getDni().trim())
+                .email(r.getEmail().trim().toLowerCase())
+                .build();
+    }
+
     public static Customer toEntity(CustomerRequest r) {
         return Customer.builder()
                 .firstName(r.getFirstName())
@@ -2,14 +2,22 @@ package com.bank.customerms.service;
 
 import com.bank.customerms.service.dto.CustomerRequest;
 import com.bank.customerms.service.dto.CustomerResponse;
+import com.bank.customerms.service.dto.PageResponse;
 
+import java.io.OutputStream;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface CustomerService {
     CustomerResponse create(CustomerRequest request);
     List<CustomerResponse> findAll();
+    /** Escribe todos los clientes como NDJSON (uno por línea) sin materializar la lista. */
+    void exportAll(OutputStream out);
+    PageResponse<CustomerResponse> findPage(String cursor, int limit);
     CustomerResponse findById(Long id);
     CustomerResponse update(Long id, CustomerRequest request);
     void delete(Long id);
+    /** Igual que {@link #delete} pero sin esperar a account-ms en el hilo del llamador. */
+    CompletableFuture<Void> deleteAsync(Long id);
 
 }
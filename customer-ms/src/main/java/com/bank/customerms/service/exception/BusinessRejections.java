@@ -0,0 +1,45 @@
+package com.bank.customerms.service.exception;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Contador {@code business.rejections} por motivo de BusinessException (cliente con cuentas activas,
+ * account-ms no disponible, circuito abierto...). El motivo sale del mensaje, que en este código es siempre
+ * un literal; aun así se acota la cantidad de motivos distintos.
+ */
+@Component
+public class BusinessRejections {
+
+    private static final int MAX_REASONS = 50;
+    private static final String OTHER = "other";
+
+    private final MeterRegistry registry;
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public BusinessRejections(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    public void record(String message) {
+        String reason = reason(message);
+        if (counters.size() >= MAX_REASONS && !counters.containsKey(reason)) reason = OTHER;
+        counters.computeIfAbsent(reason, r -> Counter.builder("business.rejections")
+                        .description("Operations rejected by a business rule")
+                        .tag("reason", r)
+                        .register(registry))
+                .increment();
+    }
+
+    /** "Cannot delete: customer has active accounts" -> "cannot_delete_customer_has_active_accounts". */
+    static String reason(String message) {
+        if (message == null || message.isBlank()) return OTHER;
+        String slug = message.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "_").replaceAll("^_|_$", "");
+        return slug.length() > 64 ? slug.substring(0, 64) : slug;
+    }
+}
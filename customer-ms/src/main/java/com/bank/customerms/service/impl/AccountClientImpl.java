@@ -1,37 +1,111 @@
 package com.bank.customerms.service.impl;
 
 import com.bank.customerms.service.AccountClient;
-import lombok.RequiredArgsConstructor;
+import com.bank.customerms.service.util.Futures;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.apache.hc.client5.http.async.methods.SimpleHttpRequest;
+import org.apache.hc.client5.http.async.methods.SimpleHttpResponse;
+import org.apache.hc.client5.http.async.methods.SimpleRequestBuilder;
+import org.apache.hc.client5.http.impl.async.CloseableHttpAsyncClient;
+import org.apache.hc.core5.concurrent.FutureCallback;
+import org.apache.hc.core5.http.ContentType;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.context.annotation.Primary;
-import org.springframework.http.ResponseEntity;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
-import org.springframework.web.client.RestTemplate;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
+/**
+ * Consulta asíncrona a account-ms: la petición no ocupa el hilo del llamador y el
+ * future se completa en el executor de {@link Futures}, nunca en el hilo de I/O del cliente.
+ */
 @Component
-@RequiredArgsConstructor
-@Primary
+@Qualifier(AccountClient.DELEGATE)
+@Profile("!stub")
 public class AccountClientImpl implements AccountClient {
 
-    private final RestTemplate restTemplate;
+    private static final TypeReference<Map<Long, Boolean>> ACTIVE_BY_CUSTOMER = new TypeReference<>() {};
 
-    @Value("${accountms.base-url:http://localhost:8082}")
-    private String accountMsBaseUrl;
+    private final CloseableHttpAsyncClient httpClient;
+    private final ObjectMapper objectMapper;
+    private final String accountMsBaseUrl;
+
+    public AccountClientImpl(CloseableHttpAsyncClient accountHttpClient,
+                             ObjectMapper objectMapper,
+                             @Value("${accountms.base-url:http://localhost:8082}") String accountMsBaseUrl) {
+        this.httpClient = accountHttpClient;
+        this.objectMapper = objectMapper;
+        this.accountMsBaseUrl = accountMsBaseUrl;
+    }
 
     @Override
     public CompletableFuture<Boolean> hasActiveAccounts(Long customerId) {
-        String url = accountMsBaseUrl + "/accounts/active?customerId=" + customerId;
+        SimpleHttpRequest request = SimpleRequestBuilder
+                .get(accountMsBaseUrl + "/accounts/active?customerId=" + customerId)
+                .build();
+        return send(request, body -> Boolean.parseBoolean(body.trim()));
+    }
+
+    /** Una sola llamada a {@code POST /accounts/active/batch} para todos los ids. */
+    @Override
+    public CompletableFuture<Map<Long, Boolean>> hasActiveAccounts(Collection<Long> customerIds) {
+        SimpleHttpRequest request;
         try {
-            ResponseEntity<Boolean> resp = restTemplate.getForEntity(url, Boolean.class);
-            Boolean body = resp.getBody();
-            return CompletableFuture.completedFuture(Boolean.TRUE.equals(body));
-        } catch (Exception ex) {
-
-            CompletableFuture<Boolean> f = new CompletableFuture<>();
-            f.completeExceptionally(ex);
-            return f;
+            request = SimpleRequestBuilder
+                    .post(accountMsBaseUrl + "/accounts/active/batch")
+                    .setBody(objectMapper.writeValueAsString(Map.of("customerIds", customerIds)), ContentType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return send(request, body -> {
+            try {
+                return objectMapper.readValue(body, ACTIVE_BY_CUSTOMER);
+            } catch (JsonProcessingException e) {
+                throw new IllegalStateException("Invalid response from account-ms", e);
+            }
+        });
+    }
+
+    private <T> CompletableFuture<T> send(SimpleHttpRequest request, Function<String, T> parser) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        httpClient.execute(request, new FutureCallback<>() {
+            @Override
+            public void completed(SimpleHttpResponse response) {
+                Futures.executor().execute(() -> {
+                    try {
+                        result.complete(parser.apply(body(response)));
+                    } catch (RuntimeException ex) {
+                        result.completeExceptionally(ex);
+                    }
+                });
+            }
+
+            @Override
+            public void failed(Exception ex) {
+                Futures.executor().execute(() -> result.completeExceptionally(ex));
+            }
+
+            @Override
+            public void cancelled() {
+                Futures.executor().execute(() -> result.completeExceptionally(new CancellationException()));
+            }
+        });
+        return result;
+    }
+
+    private static String body(SimpleHttpResponse response) {
+        if (response.getCode() != 200) {
+            throw new IllegalStateException("account-ms responded " + response.getCode());
         }
+        String body = response.getBodyText();
+        return body != null ? body : "";
     }
 }
@@ -1,12 +1,14 @@
 package com.bank.customerms.service.impl;
 
 import com.bank.customerms.service.AccountClient;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.util.concurrent.CompletableFuture;
 
 @Component
+@Qualifier(AccountClient.DELEGATE)
 @Profile("stub")
 public class AccountClientStub implements AccountClient {
     @Override
@@ -0,0 +1,129 @@
+package com.bank.customerms.service.impl;
+
+import com.bank.customerms.service.AccountClient;
+import jakarta.annotation.PreDestroy;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Agrupa consultas individuales concurrentes en una sola llamada batch (estilo DataLoader).
+ * Un lote sale cuando llega a {@code maxBatchSize} ids o cuando vence la ventana de
+ * {@code windowMs} desde el primer id encolado, lo que ocurra primero.
+ * Si la respuesta del lote no trae un id, su future falla en vez de asumir {@code false}.
+ */
+public class BatchingAccountClient implements AccountClient {
+
+    public record Stats(long calls, long batches, long batchedIds, int pending) {}
+
+    private final AccountClient delegate;
+    private final int maxBatchSize;
+    private final long windowMs;
+    private final ScheduledExecutorService timer;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedIds = new LongAdder();
+
+    private final Object lock = new Object();
+    private Map<Long, CompletableFuture<Boolean>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+
+    public BatchingAccountClient(AccountClient delegate, int maxBatchSize, long windowMs) {
+        this.delegate = delegate;
+        this.maxBatchSize = maxBatchSize;
+        this.windowMs = windowMs;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "account-batcher");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hasActiveAccounts(Long customerId) {
+        calls.increment();
+        CompletableFuture<Boolean> future;
+        Map<Long, CompletableFuture<Boolean>> full = null;
+        synchronized (lock) {
+            future = pending.get(customerId);
+            if (future != null) return future.copy();
+            future = new CompletableFuture<>();
+            pending.put(customerId, future);
+            if (pending.size() >= maxBatchSize) {
+                full = takePending();
+            } else if (pending.size() == 1) {
+                scheduledFlush = timer.schedule(this::flush, windowMs, TimeUnit.MILLISECONDS);
+            }
+        }
+        if (full != null) dispatch(full);
+        return future.copy();
+    }
+
+    @Override
+    public CompletableFuture<Map<Long, Boolean>> hasActiveAccounts(Collection<Long> customerIds) {
+        return delegate.hasActiveAccounts(customerIds);
+    }
+
+    public Stats stats() {
+        int queued;
+        synchronized (lock) {
+            queued = pending.size();
+        }
+        return new Stats(calls.sum(), batches.sum(), batchedIds.sum(), queued);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+        timer.shutdown();
+    }
+
+    private void flush() {
+        Map<Long, CompletableFuture<Boolean>> batch;
+        synchronized (lock) {
+            batch = takePending();
+        }
+        if (!batch.isEmpty()) dispatch(batch);
+    }
+
+    /** Un id sin respuesta no equivale a "sin cuentas activas": el borrado del cliente debe fallar. */
+    private static IllegalStateException missing(Long customerId) {
+        return new IllegalStateException("Account service returned no answer for customer " + customerId);
+    }
+
+    private Map<Long, CompletableFuture<Boolean>> takePending() {
+        Map<Long, CompletableFuture<Boolean>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void dispatch(Map<Long, CompletableFuture<Boolean>> batch) {
+        batches.increment();
+        batchedIds.add(batch.size());
+        try {
+            if (batch.size() == 1) {
+                var entry = batch.entrySet().iterator().next();
+                delegate.hasActiveAccounts(entry.getKey()).whenComplete((active, ex) -> {
+                    if (ex != null) entry.getValue().completeExceptionally(ex);
+                    else entry.getValue().complete(active);
+                });
+                return;
+            }
+            delegate.hasActiveAccounts(batch.keySet()).whenComplete((result, ex) -> batch.forEach((id, f) -> {
+                Boolean active = ex == null && result != null ? result.get(id) : null;
+                if (ex != null) f.completeExceptionally(ex);
+                else if (active == null) f.completeExceptionally(missing(id)); // fail closed: no se borra a ciegas
+                else f.complete(active);
+            }));
+        } catch (RuntimeException ex) {
+            batch.values().forEach(f -> f.completeExceptionally(ex));
+        }
+    }
+}
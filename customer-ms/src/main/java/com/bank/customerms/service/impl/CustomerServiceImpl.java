@@ -7,18 +7,32 @@ import com.bank.customerms.service.CustomerMapper;
 import com.bank.customerms.service.CustomerService;
 import com.bank.customerms.service.dto.CustomerRequest;
 import com.bank.customerms.service.dto.CustomerResponse;
+import com.bank.customerms.service.dto.PageResponse;
 import com.bank.customerms.service.exception.BusinessException;
 import com.bank.customerms.service.exception.NotFoundException;
+import com.bank.customerms.service.util.Cursors;
+import com.bank.customerms.service.util.Futures;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
 
+import static com.bank.customerms.service.CustomerMapper.normalize;
 import static com.bank.customerms.service.CustomerMapper.toEntity;
 import static com.bank.customerms.service.CustomerMapper.toResponse;
 
@@ -28,20 +42,20 @@ import static com.bank.customerms.service.CustomerMapper.toResponse;
 public class CustomerServiceImpl implements CustomerService {
 
     private static final long ACCOUNT_CLIENT_TIMEOUT_SECONDS = 3L;
+    private static final int EXPORT_FLUSH_EVERY = 500;
 
     private final CustomerRepository repository;
 
     private final AccountClient accountClient;
 
+    private final EntityManager entityManager;
+
+    private final ObjectMapper objectMapper;
+
     @Override
     public CustomerResponse create(CustomerRequest request) {
 
-        var normalized = request.toBuilder()
-                .firstName(request.getFirstName().trim())
-                .lastName(request.getLastName().trim())
-                .dni(request.getDni().trim())
-                .email(request.getEmail().trim().toLowerCase())
-                .build();
+        var normalized = normalize(request);
 
         if (repository.existsByDni(normalized.getDni())) {
             throw new DataIntegrityViolationException("DNI already exists");
@@ -57,8 +71,47 @@ public class CustomerServiceImpl implements CustomerService {
                 .toList();
     }
 
+    /**
+     * Recorre la tabla con un Stream forward-only, desacopla cada entidad tras escribirla y
+     * vacía la salida cada {@code EXPORT_FLUSH_EVERY} filas: heap plano sin importar el volumen.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void exportAll(OutputStream out) {
+        ObjectWriter writer = objectMapper.writerFor(CustomerResponse.class);
+        try (Stream<Customer> rows = repository.streamAll()) {
+            int n = 0;
+            for (Iterator<Customer> it = rows.iterator(); it.hasNext(); ) {
+                Customer c = it.next();
+                out.write(writer.writeValueAsBytes(toResponse(c)));
+                out.write('\n');
+                entityManager.detach(c);
+                if (++n % EXPORT_FLUSH_EVERY == 0) out.flush();
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Customer export interrupted", e);
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
+    public PageResponse<CustomerResponse> findPage(String cursor, int limit) {
+        int size = Cursors.clampLimit(limit);
+        List<Customer> rows = repository.findByIdGreaterThanOrderByIdAsc(Cursors.decode(cursor),
+                PageRequest.of(0, size + 1)); // uno extra para saber si hay siguiente página
+
+        boolean hasNext = rows.size() > size;
+        List<CustomerResponse> items = rows.stream().limit(size).map(CustomerMapper::toResponse).toList();
+        return PageResponse.<CustomerResponse>builder()
+                .items(items)
+                .nextCursor(hasNext ? Cursors.encode(items.get(items.size() - 1).getId()) : null)
+                .build();
+    }
+
+    // Se lee de la caché de segundo nivel: sin transacción no se toca la BD en un acierto.
+    @Override
+    @Transactional(readOnly = true, propagation = Propagation.SUPPORTS)
     public CustomerResponse findById(Long id) {
         return repository.findById(id)
                 .map(CustomerMapper::toResponse)
@@ -87,17 +140,42 @@ public class CustomerServiceImpl implements CustomerService {
         repository.delete(customer);
     }
 
+    /**
+     * La consulta a account-ms corre en el cliente asíncrono y el borrado en la etapa que sigue,
+     * en otro hilo: ninguna transacción de este método llega hasta ahí. Por eso no abre una
+     * (NOT_SUPPORTED); existsById y deleteById abren cada uno la suya.
+     */
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public CompletableFuture<Void> deleteAsync(Long id) {
+        if (!repository.existsById(id)) throw new NotFoundException("Customer not found");
+        return hasActiveAccountsAsync(id)
+                .thenAcceptAsync(hasActive -> {
+                    if (hasActive) {
+                        throw new BusinessException("Cannot delete: customer has active accounts");
+                    }
+                    repository.deleteById(id);
+                }, Futures.executor());
+    }
+
     private Customer requireCustomer(Long id) {
         return repository.findById(id)
                 .orElseThrow(() -> new NotFoundException("Customer not found"));
     }
 
+    private CompletableFuture<Boolean> hasActiveAccountsAsync(Long customerId) {
+        return accountClient.hasActiveAccounts(customerId)
+                .orTimeout(ACCOUNT_CLIENT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                .exceptionally(ex -> {
+                    Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                    if (cause instanceof BusinessException be) throw be; // circuito abierto / bulkhead lleno
+                    throw new BusinessException("Account service unavailable", cause);
+                });
+    }
+
     private boolean safeHasActiveAccounts(Long customerId) {
         try {
-            return accountClient.hasActiveAccounts(customerId)
-                    .orTimeout(ACCOUNT_CLIENT_TIMEOUT_SECONDS, TimeUnit.SECONDS)
-                    .exceptionally(ex -> { throw new BusinessException("Account service unavailable", ex); })
-                    .join();
+            return hasActiveAccountsAsync(customerId).join();
         } catch (CompletionException ce) {
             if (ce.getCause() instanceof BusinessException be) {
                 throw be; // re-lanza la BusinessException original
@@ -0,0 +1,34 @@
+package com.bank.customerms.service.impl;
+
+import com.bank.customerms.service.AccountClient;
+import com.bank.customerms.service.util.Resilience;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Circuit breaker + bulkhead hacia account-ms: con account-ms caído o lento, los borrados
+ * fallan al instante en vez de esperar el timeout completo.
+ */
+@RequiredArgsConstructor
+public class ResilientAccountClient implements AccountClient {
+
+    private final AccountClient delegate;
+    private final Resilience resilience;
+
+    @Override
+    public CompletableFuture<Boolean> hasActiveAccounts(Long customerId) {
+        return resilience.call(() -> delegate.hasActiveAccounts(customerId));
+    }
+
+    @Override
+    public CompletableFuture<Map<Long, Boolean>> hasActiveAccounts(Collection<Long> customerIds) {
+        return resilience.call(() -> delegate.hasActiveAccounts(customerIds));
+    }
+
+    public Resilience.Stats stats() {
+        return resilience.stats();
+    }
+}
@@ -0,0 +1,33 @@
+package com.bank.customerms.service.impl;
+
+import com.bank.customerms.service.AccountClient;
+import com.bank.customerms.service.util.SingleFlight;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Borrados concurrentes del mismo cliente comparten una sola consulta a account-ms.
+ */
+@RequiredArgsConstructor
+public class SingleFlightAccountClient implements AccountClient {
+
+    private final AccountClient delegate;
+    private final SingleFlight<Long, Boolean> flights = new SingleFlight<>();
+
+    @Override
+    public CompletableFuture<Boolean> hasActiveAccounts(Long customerId) {
+        return flights.execute(customerId, delegate::hasActiveAccounts);
+    }
+
+    @Override
+    public CompletableFuture<Map<Long, Boolean>> hasActiveAccounts(Collection<Long> customerIds) {
+        return delegate.hasActiveAccounts(customerIds);
+    }
+
+    public SingleFlight.Stats stats() {
+        return flights.stats();
+    }
+}
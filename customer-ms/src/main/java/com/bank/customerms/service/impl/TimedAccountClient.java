@@ -0,0 +1,57 @@
+package com.bank.customerms.service.impl;
+
+import com.bank.customerms.service.AccountClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Timer {@code account.client.requests} (con histograma) de las llamadas a account-ms,
+ * por operación (individual o batch) y resultado.
+ */
+public class TimedAccountClient implements AccountClient {
+
+    private final AccountClient delegate;
+    private final MeterRegistry registry;
+    private final Timer singleSuccess;
+    private final Timer singleError;
+    private final Timer batchSuccess;
+    private final Timer batchError;
+
+    public TimedAccountClient(AccountClient delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        this.registry = registry;
+        this.singleSuccess = timer(registry, "hasActiveAccounts", "success");
+        this.singleError = timer(registry, "hasActiveAccounts", "error");
+        this.batchSuccess = timer(registry, "hasActiveAccountsBatch", "success");
+        this.batchError = timer(registry, "hasActiveAccountsBatch", "error");
+    }
+
+    @Override
+    public CompletableFuture<Boolean> hasActiveAccounts(Long customerId) {
+        Timer.Sample sample = Timer.start(registry);
+        CompletableFuture<Boolean> call = delegate.hasActiveAccounts(customerId);
+        call.whenComplete((active, ex) -> sample.stop(ex == null ? singleSuccess : singleError));
+        return call;
+    }
+
+    @Override
+    public CompletableFuture<Map<Long, Boolean>> hasActiveAccounts(Collection<Long> customerIds) {
+        Timer.Sample sample = Timer.start(registry);
+        CompletableFuture<Map<Long, Boolean>> call = delegate.hasActiveAccounts(customerIds);
+        call.whenComplete((result, ex) -> sample.stop(ex == null ? batchSuccess : batchError));
+        return call;
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation, String outcome) {
+        return Timer.builder("account.client.requests")
+                .description("Calls to account-ms")
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -3,17 +3,36 @@ package com.bank.customerms.service.util;
 import java.util.concurrent.*;
 
 public final class Futures {
-    private static final ExecutorService EXEC = Executors.newFixedThreadPool(
+    private static volatile ExecutorService exec = Executors.newFixedThreadPool(
             Math.max(2, Runtime.getRuntime().availableProcessors()));
 
     private Futures() {}
 
-    public static Executor executor() { return EXEC; }
+    public static Executor executor() { return exec; }
 
     public static <T> CompletableFuture<T> supply(Callable<T> task) {
         return CompletableFuture.supplyAsync(() -> {
             try { return task.call(); }
             catch (Exception e) { throw new CompletionException(e); }
-        }, EXEC);
+        }, exec);
+    }
+
+    /**
+     * Pasa a un hilo virtual por tarea. Requiere JDK 21+: se resuelve por reflexión para
+     * seguir compilando con {@code java.version=17}; si no está disponible devuelve false y
+     * se mantiene el pool fijo.
+     */
+    public static synchronized boolean useVirtualThreads() {
+        try {
+            ExecutorService virtual = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor")
+                    .invoke(null);
+            ExecutorService previous = exec;
+            exec = virtual;
+            previous.shutdown(); // las tareas ya encoladas terminan en el pool anterior
+            return true;
+        } catch (ReflectiveOperationException e) {
+            return false;
+        }
     }
 }
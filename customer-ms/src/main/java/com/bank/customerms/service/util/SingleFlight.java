@@ -0,0 +1,47 @@
+package com.bank.customerms.service.util;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Coalescencia de llamadas concurrentes: mientras hay una llamada en vuelo para una clave,
+ * los demás pedidos de esa clave comparten su resultado en lugar de lanzar otra.
+ * Cada llamador recibe una copia del future, así nadie puede completar o cancelar el compartido.
+ */
+public final class SingleFlight<K, V> {
+
+    public record Stats(long calls, long coalesced, int inFlight) {}
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    public CompletableFuture<V> execute(K key, Function<K, CompletableFuture<V>> call) {
+        calls.increment();
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing != null) {
+            coalesced.increment();
+            return existing.copy();
+        }
+        try {
+            call.apply(key).whenComplete((v, ex) -> {
+                inFlight.remove(key, mine);
+                if (ex == null) mine.complete(v);
+                else mine.completeExceptionally(ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex);
+            });
+        } catch (RuntimeException ex) {
+            inFlight.remove(key, mine);
+            mine.completeExceptionally(ex);
+        }
+        return mine.copy();
+    }
+
+    public Stats stats() {
+        return new Stats(calls.sum(), coalesced.sum(), inFlight.size());
+    }
+}
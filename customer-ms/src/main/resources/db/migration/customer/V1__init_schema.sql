@@ -0,0 +1,14 @@
+-- Esquema inicial de customer-ms (antes lo generaba Hibernate con ddl-auto).
+-- SQL compatible con MySQL 8 y con H2 en MODE=MySQL.
+
+CREATE TABLE customers (
+    id         BIGINT       NOT NULL AUTO_INCREMENT,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    dni        VARCHAR(12)  NOT NULL,
+    email      VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id),
+    -- existsByDni / findByDni: el índice único es la búsqueda (una sola columna, sin
+    -- compuesto posible); existsByDni se resuelve solo con el índice.
+    CONSTRAINT uk_customer_dni UNIQUE (dni)
+);
@@ -0,0 +1,81 @@
+package com.bank.customerms;
+
+import com.bank.customerms.service.AccountClient;
+import com.bank.customerms.service.impl.BatchingAccountClient;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Tests para BatchingAccountClient (AAA).
+ */
+@ExtendWith(MockitoExtension.class)
+class BatchingAccountClientTest {
+
+    @Mock private AccountClient delegate;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldSendOneBatch_whenMaxBatchSizeIsReached() {
+        // Arrange
+        when(delegate.hasActiveAccounts(anyCollection()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of(1L, true, 2L, false)));
+        var client = new BatchingAccountClient(delegate, 2, 60_000);
+
+        // Act
+        var first = client.hasActiveAccounts(1L);
+        var second = client.hasActiveAccounts(2L);
+
+        // Assert
+        assertTrue(first.join());
+        assertFalse(second.join());
+        ArgumentCaptor<Collection<Long>> ids = ArgumentCaptor.forClass(Collection.class);
+        verify(delegate).hasActiveAccounts(ids.capture());
+        assertEquals(List.of(1L, 2L), List.copyOf(ids.getValue()));
+        verify(delegate, never()).hasActiveAccounts(anyLong());
+    }
+
+    @Test
+    void shouldFlushSingleLookup_whenWindowElapses() {
+        // Arrange
+        when(delegate.hasActiveAccounts(7L)).thenReturn(CompletableFuture.completedFuture(true));
+        var client = new BatchingAccountClient(delegate, 100, 5);
+
+        // Act
+        var result = client.hasActiveAccounts(7L);
+
+        // Assert
+        assertTrue(result.join());
+        verify(delegate).hasActiveAccounts(7L);
+        verify(delegate, never()).hasActiveAccounts(anyCollection());
+    }
+
+    @Test
+    void shouldFailLookup_whenBatchResponseOmitsTheId() {
+        // Arrange: account-ms responde el lote sin el cliente 2
+        when(delegate.hasActiveAccounts(anyCollection()))
+                .thenReturn(CompletableFuture.completedFuture(Map.of(1L, false)));
+        var client = new BatchingAccountClient(delegate, 2, 60_000);
+
+        // Act
+        var first = client.hasActiveAccounts(1L);
+        var second = client.hasActiveAccounts(2L);
+
+        // Assert
+        assertFalse(first.join());
+        var ex = assertThrows(CompletionException.class, second::join);
+        assertInstanceOf(IllegalStateException.class, ex.getCause());
+    }
+}
@@ -0,0 +1,89 @@
+package com.bank.customerms;
+
+import com.bank.customerms.repository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+
+import javax.sql.DataSource;
+import java.lang.reflect.Method;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Map.entry;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Planes de ejecución de las consultas de CustomerRepository sobre el esquema de Flyway
+ * (H2 en MODE=MySQL, la misma URL que la aplicación).
+ * - Cada método se invoca de verdad: se captura el SQL que genera Hibernate y se hace EXPLAIN
+ *   de esa sentencia con sus parámetros ligados.
+ * - Falla si alguna consulta recorre la tabla completa.
+ * - Falla si se agrega un método de consulta sin su invocación aquí.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SqlCapture.class)
+class CustomerQueryPlanTest {
+
+    /** Recorre la tabla entera por diseño: exportación. */
+    private static final Set<String> FULL_READS = Set.of("streamAll");
+
+    @Autowired private CustomerRepository repository;
+    @Autowired private DataSource dataSource;
+    @Autowired private SqlCapture capture;
+
+    /** Una invocación representativa por método; ids y DNIs inexistentes para no acertar en la caché L2. */
+    private Map<String, Runnable> calls() {
+        return Map.ofEntries(
+                entry("findById", () -> repository.findById(999_999L)),
+                entry("existsByDni", () -> repository.existsByDni("12345678")),
+                entry("findByDni", () -> repository.findByDni("12345678")),
+                entry("findByIdGreaterThanOrderByIdAsc",
+                        () -> repository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 21))));
+    }
+
+    @Test
+    void everyRepositoryQuery_shouldHaveItsPlanChecked() {
+        // Arrange
+        var declared = Arrays.stream(CustomerRepository.class.getDeclaredMethods())
+                .filter(m -> !m.isDefault() && !m.isSynthetic())
+                .map(Method::getName)
+                .distinct();
+
+        // Act
+        var missing = declared.filter(n -> !calls().containsKey(n) && !FULL_READS.contains(n)).toList();
+
+        // Assert
+        assertTrue(missing.isEmpty(), "Queries without a plan check: " + missing);
+    }
+
+    @Test
+    void repositoryQueries_shouldNotScanWholeTables() throws SQLException {
+        for (var call : calls().entrySet()) {
+            // Act
+            List<String> plans = plansOf(call.getValue());
+
+            // Assert
+            assertFalse(plans.isEmpty(), call.getKey() + " did not reach the database");
+            for (String plan : plans) {
+                assertFalse(plan.contains("tableScan"), call.getKey() + " does a full scan:\n" + plan);
+            }
+        }
+    }
+
+    private List<String> plansOf(Runnable call) throws SQLException {
+        capture.clear();
+        call.run();
+        List<String> plans = new ArrayList<>();
+        for (var statement : capture.statements()) plans.add(SqlCapture.explain(dataSource, statement));
+        return plans;
+    }
+}
@@ -0,0 +1,102 @@
+package com.bank.customerms;
+
+import com.bank.customerms.config.SecondLevelCacheConfig;
+import com.bank.customerms.model.Customer;
+import com.bank.customerms.repository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para la caché de segundo nivel de Customer
+ * - AAA: Arrange / Act / Assert
+ * - Sin transacción de test: cada llamada al repositorio hace commit y puebla/invalida la caché.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class CustomerSecondLevelCacheTest {
+
+    @Autowired private CustomerRepository repository;
+    @Autowired private EntityManagerFactory emf;
+
+    private Customer customer;
+    private Statistics stats;
+
+    @BeforeEach
+    void setUp() {
+        customer = repository.save(Customer.builder()
+                .firstName("Yesi").lastName("Peche").dni("55550001").email("yesi@test.com")
+                .build());
+        emf.getCache().evictAll();
+        stats = emf.unwrap(SessionFactory.class).getStatistics();
+        stats.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteById(customer.getId());
+    }
+
+    @Test
+    void shouldServeRepeatedFindById_withoutJdbc() {
+        // Act
+        repository.findById(customer.getId());
+        repository.findById(customer.getId());
+
+        // Assert: solo la primera lectura va a la BD
+        assertEquals(1, stats.getPrepareStatementCount());
+        assertEquals(1, stats.getSecondLevelCacheHitCount());
+    }
+
+    @Test
+    void shouldServeRepeatedExistsByDni_fromQueryCache_untilCustomersChange() {
+        // Arrange: el chequeo de duplicado que hace el alta
+        repository.existsByDni("55550002");
+        repository.existsByDni("55550002");
+        long hitsBeforeInsert = stats.getQueryCacheHitCount();
+        long statementsBeforeInsert = stats.getPrepareStatementCount();
+
+        // Act: el alta inserta en customers y descarta el resultado cacheado
+        var created = repository.save(Customer.builder()
+                .firstName("Ana").lastName("Ruiz").dni("55550002").email("ana@test.com")
+                .build());
+        boolean exists = repository.existsByDni("55550002");
+
+        // Assert
+        assertEquals(1, hitsBeforeInsert);
+        assertEquals(1, statementsBeforeInsert);
+        assertTrue(exists);
+        repository.deleteById(created.getId());
+    }
+
+    @Test
+    void shouldInvalidateExistsByDni_onUpdate() {
+        // Arrange
+        repository.existsByDni("55550001");
+        repository.existsByDni("55550001");
+        long hitsBeforeUpdate = stats.getQueryCacheHitCount();
+
+        // Act
+        customer.setEmail("nuevo@test.com");
+        repository.save(customer);
+        boolean exists = repository.existsByDni("55550001");
+
+        // Assert: el update descarta el resultado cacheado y la consulta vuelve a la BD
+        assertEquals(1, hitsBeforeUpdate);
+        assertEquals(1, stats.getQueryCacheHitCount());
+        assertTrue(exists);
+    }
+}
@@ -5,19 +5,23 @@ import com.bank.customerms.repository.CustomerRepository;
 import com.bank.customerms.service.AccountClient;
 import com.bank.customerms.service.dto.CustomerRequest;
 import com.bank.customerms.service.dto.CustomerResponse;
+import com.bank.customerms.service.dto.PageResponse;
 import com.bank.customerms.service.exception.BusinessException;
 import com.bank.customerms.service.exception.NotFoundException;
 import com.bank.customerms.service.impl.CustomerServiceImpl;
+import com.bank.customerms.service.util.Cursors;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -137,6 +141,23 @@ class CustomerServiceImplTest {
         verifyNoMoreInteractions(repository, accountClient);
     }
 
+    @Test
+    void shouldReturnKeysetPage_withNextCursor_whenMoreRowsExist() {
+        // Arrange
+        var e2 = Customer.builder().id(2L).firstName("Ana").lastName("Paz").dni("12345678").email("ana@test.com").build();
+        when(repository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2))).thenReturn(List.of(entity, e2));
+
+        // Act
+        PageResponse<CustomerResponse> page = service.findPage(null, 1);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertEquals(1L, page.getItems().get(0).getId());
+        assertEquals(1L, Cursors.decode(page.getNextCursor()));
+        verify(repository).findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2));
+        verifyNoMoreInteractions(repository, accountClient);
+    }
+
     @Test
     void shouldUpdateCustomer_whenExists() {
         // Arrange
@@ -210,4 +231,49 @@ class CustomerServiceImplTest {
         verify(repository, never()).delete(any());
         verifyNoMoreInteractions(repository, accountClient);
     }
+
+    @Test
+    void shouldFailDeleteAsync_whenHasActiveAccounts() {
+        // Arrange
+        when(repository.existsById(1L)).thenReturn(true);
+        when(accountClient.hasActiveAccounts(1L)).thenReturn(CompletableFuture.completedFuture(true));
+
+        // Act
+        var future = service.deleteAsync(1L);
+
+        // Assert
+        var ex = assertThrows(CompletionException.class, future::join);
+        assertInstanceOf(BusinessException.class, ex.getCause());
+        verify(repository).existsById(1L);
+        verify(accountClient).hasActiveAccounts(1L);
+        verify(repository, never()).deleteById(any());
+        verifyNoMoreInteractions(repository, accountClient);
+    }
+
+    @Test
+    void shouldDeleteAsync_byId_whenNoActiveAccounts() {
+        // Arrange
+        when(repository.existsById(1L)).thenReturn(true);
+        when(accountClient.hasActiveAccounts(1L)).thenReturn(CompletableFuture.completedFuture(false));
+
+        // Act
+        service.deleteAsync(1L).join();
+
+        // Assert
+        verify(repository).existsById(1L);
+        verify(accountClient).hasActiveAccounts(1L);
+        verify(repository).deleteById(1L);
+        verifyNoMoreInteractions(repository, accountClient);
+    }
+
+    @Test
+    void shouldThrowNotFound_beforeCallingAccountService_onDeleteAsync() {
+        // Arrange
+        when(repository.existsById(77L)).thenReturn(false);
+
+        // Act + Assert
+        assertThrows(NotFoundException.class, () -> service.deleteAsync(77L));
+        verify(repository).existsById(77L);
+        verifyNoMoreInteractions(repository, accountClient);
+    }
 }
@@ -0,0 +1,73 @@
+package com.bank.customerms;
+
+import com.bank.customerms.repository.CustomerRepository;
+import com.bank.customerms.service.CustomerService;
+import com.bank.customerms.service.dto.CustomerRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Arranque sobre una base creada por la versión anterior (ddl-auto=update, sin Flyway):
+ * baseline en V1 y el resto de migraciones aplicadas encima.
+ * - El esquema de partida es el DDL que generaba Hibernate (db/legacy/customer-ddl-auto.sql)
+ * - AAA: Arrange / Act / Assert
+ */
+@SpringBootTest
+class LegacySchemaMigrationTest {
+
+    private static final String URL =
+            "jdbc:h2:mem:legacy;MODE=MySQL;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE";
+
+    @Autowired private JdbcTemplate jdbc;
+    @Autowired private CustomerRepository repository;
+    @Autowired private CustomerService service;
+
+    /** Crea el esquema antiguo justo antes de que arranque el contexto (y Flyway con él). */
+    @DynamicPropertySource
+    static void legacySchema(DynamicPropertyRegistry registry) throws SQLException {
+        try (Connection c = DriverManager.getConnection(URL, "sa", "")) {
+            ScriptUtils.executeSqlScript(c, new ClassPathResource("db/legacy/customer-ddl-auto.sql"));
+        }
+        registry.add("spring.datasource.url", () -> URL);
+    }
+
+    @Test
+    void shouldBaselineAtV1_andApplyEveryLaterMigration() {
+        // Act
+        List<String> applied = jdbc.queryForList("select concat(\"version\", ':', \"type\") from \"flyway_schema_history\""
+                + " where \"success\" and \"version\" is not null order by \"installed_rank\"", String.class);
+
+        // Assert
+        assertEquals(List.of("1:BASELINE"), applied);
+    }
+
+    @Test
+    void shouldKeepLegacyRows_andEnforceUniqueDni() {
+        // Arrange
+        var legacy = repository.findAll().get(0);
+        var duplicate = CustomerRequest.builder()
+                .firstName("Otra").lastName("Persona").dni(legacy.getDni()).email("otra@bank.com").build();
+
+        // Act
+        var created = service.create(duplicate.toBuilder().dni("40000002").build());
+
+        // Assert
+        assertEquals("40000001", legacy.getDni());
+        assertNotNull(created.getId());
+        assertThrows(DataIntegrityViolationException.class, () -> service.create(duplicate));
+    }
+}
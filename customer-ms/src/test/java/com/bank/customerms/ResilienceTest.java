@@ -0,0 +1,65 @@
+package com.bank.customerms;
+
+import com.bank.customerms.service.exception.BusinessException;
+import com.bank.customerms.service.util.Resilience;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests para Resilience (AAA).
+ */
+class ResilienceTest {
+
+    private static Resilience resilience(int maxConcurrent) {
+        return new Resilience("Account service",
+                new Resilience.Settings(4, 4, 50, 100, 60_000, 60_000, 1, maxConcurrent));
+    }
+
+    @Test
+    void shouldFailFast_whenCircuitIsOpen() {
+        // Arrange
+        var r = resilience(10);
+        var calls = new AtomicInteger();
+        for (int i = 0; i < 4; i++) {
+            r.call(() -> {
+                calls.incrementAndGet();
+                return CompletableFuture.failedFuture(new RuntimeException("boom"));
+            });
+        }
+
+        // Act
+        var ex = assertThrows(CompletionException.class,
+                () -> r.call(() -> {
+                    calls.incrementAndGet();
+                    return CompletableFuture.completedFuture(true);
+                }).join());
+
+        // Assert
+        assertInstanceOf(BusinessException.class, ex.getCause());
+        assertEquals("OPEN", r.stats().state());
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    void shouldRejectCall_whenBulkheadIsFull() {
+        // Arrange
+        var r = resilience(1);
+        var inFlight = new CompletableFuture<Boolean>();
+        r.call(() -> inFlight);
+
+        // Act
+        var ex = assertThrows(CompletionException.class,
+                () -> r.call(() -> CompletableFuture.completedFuture(true)).join());
+
+        // Assert
+        assertInstanceOf(BusinessException.class, ex.getCause());
+        assertEquals("CLOSED", r.stats().state());
+        inFlight.complete(true);
+        assertEquals(1, r.stats().bulkheadAvailable());
+    }
+}
@@ -0,0 +1,5 @@
+-- DDL que generaba Hibernate (ddl-auto=update, MySQLDialect) con la entidad Customer anterior
+-- a Flyway: punto de partida de LegacySchemaMigrationTest.
+create table customers (id bigint not null auto_increment, dni varchar(12) not null, email varchar(255) not null, first_name varchar(255) not null, last_name varchar(255) not null, primary key (id)) engine=InnoDB;
+alter table customers add constraint uk_customer_dni unique (dni);
+insert into customers (dni, email, first_name, last_name) values ('40000001', 'ana@bank.com', 'Ana', 'Legacy');